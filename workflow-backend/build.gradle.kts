@@ -29,6 +29,9 @@ dependencies {
     // Logging
     implementation("org.slf4j:slf4j-api:1.7.36")
     implementation("ch.qos.logback:logback-classic:1.2.11")
+
+    // JDBC driver for replaying the workflow_executions audit log
+    runtimeOnly("org.postgresql:postgresql:42.5.0")
     
     // Testing
     testImplementation("junit:junit:4.13.2")
@@ -54,6 +57,27 @@ tasks.register<JavaExec>("runTestRunner") {
     mainClass.set("org.light.challenge.WorkflowTestRunner")
 }
 
+tasks.register<JavaExec>("replay") {
+    group = "application"
+    description = "Replays historical invoices against a candidate rule snapshot (pass --args)"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("org.light.challenge.ReplayTool")
+}
+
+tasks.register<JavaExec>("intake") {
+    group = "application"
+    description = "Runs invoices from a file or local socket through the staged intake pipeline (pass --args)"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("org.light.challenge.IntakeTool")
+}
+
+tasks.register<JavaExec>("loadBenchmark") {
+    group = "application"
+    description = "Load-tests POST /workflow against POST /workflow/async on a running server (pass --args)"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("org.light.challenge.LoadBenchmark")
+}
+
 tasks.shadowJar {
     mergeServiceFiles()
     transform(ServiceFileTransformer::class.java)
@@ -63,6 +87,92 @@ tasks.shadowJar {
     archiveClassifier.set("")
 }
 
+// ---------------------------------------------------------------------------
+// Fast startup: prebuilt rule snapshot + AppCDS archive for the shadow jar
+// ---------------------------------------------------------------------------
+
+val ruleSnapshotFile = layout.buildDirectory.file("rules/rules.snapshot")
+val cdsClassList = layout.buildDirectory.file("cds/classes.lst")
+val cdsArchive = layout.buildDirectory.file("cds/app.jsa")
+val java11 = javaToolchains.launcherFor {
+    languageVersion.set(JavaLanguageVersion.of(11))
+}
+
+tasks.register<JavaExec>("ruleSnapshot") {
+    group = "build"
+    description = "Validates the rule set and writes it as a binary snapshot"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("org.light.challenge.RuleSnapshotBuilder")
+    args(ruleSnapshotFile.get().asFile.absolutePath)
+    outputs.file(ruleSnapshotFile)
+}
+
+tasks.register<Exec>("cdsClassList") {
+    group = "build"
+    description = "Training run that records the classes loaded up to the first served request"
+    dependsOn(tasks.shadowJar, "ruleSnapshot")
+    outputs.file(cdsClassList)
+    doFirst { cdsClassList.get().asFile.parentFile.mkdirs() }
+    commandLine(
+        java11.get().executablePath.asFile.absolutePath,
+        "-XX:DumpLoadedClassList=${cdsClassList.get().asFile.absolutePath}",
+        "-Dworkflow.cds.training=true",
+        "-Ddw.ruleSnapshot=${ruleSnapshotFile.get().asFile.absolutePath}",
+        "-jar", tasks.shadowJar.get().archiveFile.get().asFile.absolutePath,
+        "server", "cds-training.yml"
+    )
+}
+
+tasks.register<Exec>("cdsArchive") {
+    group = "build"
+    description = "Builds the AppCDS archive for the shadow jar from the recorded class list"
+    dependsOn("cdsClassList")
+    inputs.file(cdsClassList)
+    outputs.file(cdsArchive)
+    commandLine(
+        java11.get().executablePath.asFile.absolutePath,
+        "-Xshare:dump",
+        "-XX:SharedClassListFile=${cdsClassList.get().asFile.absolutePath}",
+        "-XX:SharedArchiveFile=${cdsArchive.get().asFile.absolutePath}",
+        "-cp", tasks.shadowJar.get().archiveFile.get().asFile.absolutePath
+    )
+}
 
+tasks.register<Exec>("runFastStart") {
+    group = "application"
+    description = "Runs the shadow jar with the AppCDS archive and the prebuilt rule snapshot"
+    dependsOn("cdsArchive")
+    commandLine(
+        java11.get().executablePath.asFile.absolutePath,
+        "-XX:SharedArchiveFile=${cdsArchive.get().asFile.absolutePath}",
+        "-Xshare:auto",
+        "-Ddw.ruleSnapshot=${ruleSnapshotFile.get().asFile.absolutePath}",
+        "-jar", tasks.shadowJar.get().archiveFile.get().asFile.absolutePath,
+        "server", "config.yml"
+    )
+}
 
+tasks.register<Exec>("runPlainStart") {
+    group = "application"
+    description = "Runs the shadow jar without snapshot or AppCDS, for startup comparison"
+    dependsOn(tasks.shadowJar)
+    commandLine(
+        java11.get().executablePath.asFile.absolutePath,
+        "-jar", tasks.shadowJar.get().archiveFile.get().asFile.absolutePath,
+        "server", "config.yml"
+    )
+}
 
+tasks.register<Exec>("runRecorded") {
+    group = "application"
+    description = "Runs the shadow jar with an always-on Flight Recorder recording of the workflow events"
+    dependsOn(tasks.shadowJar)
+    doFirst { layout.buildDirectory.dir("jfr").get().asFile.mkdirs() }
+    commandLine(
+        java11.get().executablePath.asFile.absolutePath,
+        "-XX:StartFlightRecording=settings=default,settings=workflow.jfc,disk=true,maxage=1h," +
+            "dumponexit=true,filename=${layout.buildDirectory.file("jfr/workflow.jfr").get().asFile.absolutePath}",
+        "-jar", tasks.shadowJar.get().archiveFile.get().asFile.absolutePath,
+        "server", "config.yml"
+    )
+}
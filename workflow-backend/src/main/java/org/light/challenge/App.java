@@ -1,16 +1,30 @@
 package org.light.challenge;
 
+import com.codahale.metrics.Gauge;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import io.dropwizard.Application;
-import io.dropwizard.Configuration;
 import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
+import org.light.challenge.admission.AdmissionController;
+import org.light.challenge.approval.PendingApprovalStore;
+import org.light.challenge.engine.WorkflowEngine;
+import org.light.challenge.escalation.EscalationScheduler;
+import org.light.challenge.execution.EvaluationExecutor;
+import org.light.challenge.impact.ApprovalRerouter;
+import org.light.challenge.notification.NotificationDispatcher;
+import org.light.challenge.repository.WorkflowRepository;
+import org.light.challenge.rest.RuleResource;
 import org.light.challenge.rest.WorkflowResource;
+import org.light.challenge.shadow.ShadowEvaluator;
+
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
 
 /**
  * Main Dropwizard application class.
  */
-public class App extends Application<Configuration> {
+public class App extends Application<WorkflowConfiguration> {
 
     public static void main(String[] args) throws Exception {
         new App().run(args);
@@ -22,7 +36,7 @@ public class App extends Application<Configuration> {
     }
 
     @Override
-    public void initialize(Bootstrap<Configuration> bootstrap) {
+    public void initialize(Bootstrap<WorkflowConfiguration> bootstrap) {
         // Configure Jackson
         bootstrap.getObjectMapper().configure(
             DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, 
@@ -31,10 +45,42 @@ public class App extends Application<Configuration> {
     }
 
     @Override
-    public void run(Configuration configuration, Environment environment) {
+    public void run(WorkflowConfiguration configuration, Environment environment) throws Exception {
+        if (StartupTimer.isTraining()
+                && (configuration.getApprovals().getFile() != null || configuration.getNotifications().isDeliver())) {
+            throw new IllegalStateException(
+                "The AppCDS training run must not persist approvals or send notifications; use cds-training.yml");
+        }
+        final StartupTimer startupTimer = new StartupTimer();
+        startupTimer.register(environment);
+
+        // Initialize repository, engine and approval tracking
+        final WorkflowRepository repository = configuration.getRuleSnapshot() == null
+                ? new WorkflowRepository()
+                : WorkflowRepository.fromSnapshot(Paths.get(configuration.getRuleSnapshot()));
+        final WorkflowEngine engine = new WorkflowEngine(repository);
+        final PendingApprovalStore approvals = configuration.getApprovals().build(environment.lifecycle());
+        final NotificationDispatcher notifications = configuration.getNotifications().build(environment.lifecycle());
+        final EscalationScheduler escalations = configuration.getEscalation()
+                .build(approvals, repository, notifications, environment.lifecycle());
+        final EvaluationExecutor evaluations = configuration.getEvaluation().build(environment.lifecycle());
+        environment.metrics().register("evaluation.inFlight", (Gauge<Integer>) evaluations::getInFlight);
+        configuration.getAnalytics().build(engine, environment);
+        final AdmissionController admission = configuration.getAdmission().build(environment.metrics());
+        final ShadowEvaluator shadow = configuration.getShadow().build(environment);
+
         // Register REST resources
-        final WorkflowResource workflowResource = new WorkflowResource();
+        final WorkflowResource workflowResource =
+                new WorkflowResource(engine, approvals, escalations, notifications, evaluations, admission, shadow);
         environment.jersey().register(workflowResource);
+        // One thread, so re-routing passes run in the order rule changes were made
+        final ExecutorService reroutes = environment.lifecycle().executorService("reroute-%d")
+                .minThreads(1)
+                .maxThreads(1)
+                .workQueue(new LinkedBlockingQueue<>())
+                .build();
+        environment.jersey().register(new RuleResource(repository,
+                new ApprovalRerouter(approvals, engine, escalations, notifications, reroutes)));
 
         // Register health check
         environment.healthChecks().register("workflow", 
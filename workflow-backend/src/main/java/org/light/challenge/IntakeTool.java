@@ -0,0 +1,117 @@
+package org.light.challenge;
+
+import org.light.challenge.engine.WorkflowEngine;
+import org.light.challenge.intake.FileIntakeSource;
+import org.light.challenge.intake.IntakePipeline;
+import org.light.challenge.intake.IntakeSource;
+import org.light.challenge.intake.IntakeStats;
+import org.light.challenge.intake.SocketIntakeSource;
+import org.light.challenge.intake.WaitStrategy;
+import org.light.challenge.model.ApproverRole;
+import org.light.challenge.notification.NotificationDispatcher;
+import org.light.challenge.repository.WorkflowRepository;
+
+import java.io.BufferedWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Drives the workflow engine from a local queue stand-in through the staged
+ * intake pipeline and reports sustained throughput and per-stage latency.
+ * Run via {@code ./gradlew intake --args="..."}.
+ */
+public class IntakeTool {
+    private static final String USAGE = String.join("\n",
+        "Usage: IntakeTool (--input <file.jsonl> [--passes <n>] | --port <port> [--connections <n>])",
+        "                  [--rules <snapshot>] [--buffer <slots>] [--wait busy-spin|yielding|sleeping|blocking]",
+        "                  [--audit <file>] [--report <seconds>]",
+        "  --rules defaults to the built-in rule set; without --audit the audit stage discards its output.");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        if (options == null || options.containsKey("input") == options.containsKey("port")) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        WorkflowRepository repository = options.containsKey("rules")
+            ? WorkflowRepository.fromSnapshot(Paths.get(options.get("rules")))
+            : new WorkflowRepository();
+        WorkflowEngine engine = new WorkflowEngine(repository, false);
+        int bufferSize = intOption(options, "buffer", 65_536);
+        WaitStrategy waitStrategy = WaitStrategy.named(options.getOrDefault("wait", "yielding"));
+        int reportSeconds = intOption(options, "report", 5);
+
+        // Notifications are counted per role rather than printed, which would dominate the run
+        long[] dispatched = new long[ApproverRole.values().length];
+        NotificationDispatcher dispatcher = action -> dispatched[action.getApproverRole().ordinal()]++;
+
+        IntakeStats stats;
+        try (IntakeSource source = openSource(options);
+             Writer audit = options.containsKey("audit")
+                 ? Files.newBufferedWriter(Paths.get(options.get("audit")), StandardCharsets.UTF_8)
+                 : new BufferedWriter(Writer.nullWriter())) {
+            IntakePipeline pipeline = new IntakePipeline(engine, dispatcher, audit, bufferSize, waitStrategy);
+            Thread reporter = startReporter(pipeline, reportSeconds);
+            stats = pipeline.run(source);
+            reporter.interrupt();
+        }
+
+        stats.print(System.out);
+        System.out.println();
+        System.out.println("Dispatched per approver:");
+        for (ApproverRole role : ApproverRole.values()) {
+            System.out.println(String.format("  %-16s %d", role.name(), dispatched[role.ordinal()]));
+        }
+    }
+
+    private static IntakeSource openSource(Map<String, String> options) throws Exception {
+        if (options.containsKey("input")) {
+            return new FileIntakeSource(Paths.get(options.get("input")), intOption(options, "passes", 1));
+        }
+        SocketIntakeSource source = new SocketIntakeSource(
+            Integer.parseInt(options.get("port")), intOption(options, "connections", 1));
+        System.out.println("Listening for invoice records on localhost:" + source.getPort());
+        return source;
+    }
+
+    private static Thread startReporter(IntakePipeline pipeline, int seconds) {
+        Thread reporter = new Thread(() -> {
+            long last = 0;
+            try {
+                while (true) {
+                    Thread.sleep(seconds * 1000L);
+                    long completed = pipeline.getCompleted();
+                    System.out.println(String.format("%d records dispatched (%.0f records/s)",
+                        completed, (completed - last) / (double) seconds));
+                    last = completed;
+                }
+            } catch (InterruptedException e) {
+                // Run finished
+            }
+        }, "intake-reporter");
+        reporter.setDaemon(true);
+        reporter.start();
+        return reporter;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i += 2) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                return null;
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        String value = options.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+}
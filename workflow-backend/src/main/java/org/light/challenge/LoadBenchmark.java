@@ -0,0 +1,148 @@
+package org.light.challenge;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop load generator for comparing {@code POST /workflow} with
+ * {@code POST /workflow/async} against a running server. Each client thread
+ * sends requests back to back; the report gives throughput, latency
+ * percentiles and how many requests were shed with 429 (client over its
+ * rate; each thread is its own client) or 503 (server at capacity).
+ * Run via {@code ./gradlew loadBenchmark --args="..."}.
+ */
+public class LoadBenchmark {
+    private static final String USAGE = String.join("\n",
+        "Usage: LoadBenchmark [--url http://localhost:8080] [--paths /workflow,/workflow/async]",
+        "                     [--concurrency 64] [--seconds 20] [--warmup 5]");
+
+    private static final String[] BODIES = {
+        "{\"amount\": 15000, \"department\": \"marketing\", \"requiresManagerApproval\": false}",
+        "{\"amount\": 15000, \"department\": \"engineering\", \"requiresManagerApproval\": false}",
+        "{\"amount\": 7000, \"department\": \"operations\", \"requiresManagerApproval\": true}",
+        "{\"amount\": 3000, \"department\": \"hr\", \"requiresManagerApproval\": false}"
+    };
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i += 2) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                System.err.println(USAGE);
+                System.exit(2);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        String url = options.getOrDefault("url", "http://localhost:8080");
+        List<String> paths = Arrays.asList(options.getOrDefault("paths", "/workflow,/workflow/async").split(","));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "64"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "20"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "5"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        System.out.println(String.format("%d clients, %d s per path after %d s warm-up", concurrency, seconds, warmup));
+        for (String path : paths) {
+            URI uri = URI.create(url + path.trim());
+            run(client, uri, concurrency, warmup);
+            Result result = run(client, uri, concurrency, seconds);
+            System.out.println(String.format(
+                "%-18s %8.0f req/s  p50 %6.2f ms  p99 %7.2f ms  max %7.2f ms  ok %d  429 %d  503 %d  errors %d",
+                path, result.ok / (double) seconds,
+                result.percentileMillis(0.50), result.percentileMillis(0.99), result.percentileMillis(1.0),
+                result.ok, result.rateLimited, result.shed, result.errors));
+        }
+    }
+
+    private static Result run(HttpClient client, URI uri, int concurrency, int seconds) throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<Result>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                int offset = i;
+                futures.add(clients.submit(() -> client(client, uri, deadline, offset)));
+            }
+            Result total = new Result();
+            for (Future<Result> future : futures) {
+                total.merge(future.get());
+            }
+            return total;
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private static Result client(HttpClient client, URI uri, long deadline, int offset) {
+        Result result = new Result();
+        for (int i = offset; System.nanoTime() < deadline; i++) {
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .header("Content-Type", "application/json")
+                    .header("X-Client-Id", "load-benchmark-" + offset)
+                    .POST(HttpRequest.BodyPublishers.ofString(BODIES[i % BODIES.length]))
+                    .build();
+            long started = System.nanoTime();
+            try {
+                int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (status == 200) {
+                    result.record(System.nanoTime() - started);
+                } else if (status == 429) {
+                    result.rateLimited++;
+                } else if (status == 503) {
+                    result.shed++;
+                } else {
+                    result.errors++;
+                }
+            } catch (Exception e) {
+                result.errors++;
+            }
+        }
+        return result;
+    }
+
+    private static class Result {
+        private long[] latencies = new long[1024];
+        private int ok;
+        private long rateLimited;
+        private long shed;
+        private long errors;
+
+        void record(long nanos) {
+            if (ok == latencies.length) {
+                latencies = Arrays.copyOf(latencies, ok * 2);
+            }
+            latencies[ok++] = nanos;
+        }
+
+        void merge(Result other) {
+            for (int i = 0; i < other.ok; i++) {
+                record(other.latencies[i]);
+            }
+            rateLimited += other.rateLimited;
+            shed += other.shed;
+            errors += other.errors;
+        }
+
+        double percentileMillis(double percentile) {
+            if (ok == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, ok);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * ok) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
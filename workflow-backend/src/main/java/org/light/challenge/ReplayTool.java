@@ -0,0 +1,82 @@
+package org.light.challenge;
+
+import org.light.challenge.replay.JdbcReplaySource;
+import org.light.challenge.replay.JsonLinesReplaySource;
+import org.light.challenge.replay.ReplayRunner;
+import org.light.challenge.replay.ReplaySource;
+import org.light.challenge.replay.ReplayStats;
+import org.light.challenge.repository.WorkflowRepository;
+
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * What-if simulation: replays historical invoices against the active rules
+ * and a candidate rule snapshot, and reports which decisions would change.
+ * Run via {@code ./gradlew replay --args="..."}.
+ */
+public class ReplayTool {
+    private static final String USAGE = String.join("\n",
+        "Usage: ReplayTool --candidate <snapshot> (--input <file.jsonl> | --jdbc <url> [--user <u>] [--password <p>])",
+        "                  [--active <snapshot>] [--parallelism <n>] [--chunk <n>] [--samples <n>]",
+        "  --active defaults to the built-in rule set.");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        if (options == null || !options.containsKey("candidate")
+                || options.containsKey("input") == options.containsKey("jdbc")) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        WorkflowRepository active = options.containsKey("active")
+            ? WorkflowRepository.fromSnapshot(Paths.get(options.get("active")))
+            : new WorkflowRepository();
+        WorkflowRepository candidate = WorkflowRepository.fromSnapshot(Paths.get(options.get("candidate")));
+
+        int parallelism = intOption(options, "parallelism", Runtime.getRuntime().availableProcessors());
+        int chunkSize = intOption(options, "chunk", 65_536);
+        int samples = intOption(options, "samples", 3);
+        // Two chunks per worker keeps every core busy while the reader fills the next one
+        ReplayRunner runner = new ReplayRunner(active, candidate, parallelism, chunkSize, 2 * parallelism, samples);
+
+        long started = System.nanoTime();
+        ReplayStats stats;
+        long skipped;
+        try (ReplaySource source = openSource(options)) {
+            stats = runner.run(source);
+            skipped = source.getSkipped();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        stats.print(System.out);
+        System.out.println();
+        System.out.println(String.format("Skipped %d unreadable records", skipped));
+        System.out.println(String.format("Elapsed %.2f s (%.0f invoices/s on %d threads)",
+            seconds, seconds == 0 ? 0.0 : stats.getTotal() / seconds, parallelism));
+    }
+
+    private static ReplaySource openSource(Map<String, String> options) throws Exception {
+        if (options.containsKey("input")) {
+            return new JsonLinesReplaySource(Paths.get(options.get("input")));
+        }
+        return new JdbcReplaySource(options.get("jdbc"), options.get("user"), options.get("password"));
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i += 2) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                return null;
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        String value = options.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+}
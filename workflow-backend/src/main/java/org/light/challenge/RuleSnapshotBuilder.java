@@ -0,0 +1,29 @@
+package org.light.challenge;
+
+import org.light.challenge.repository.RuleSnapshot;
+import org.light.challenge.repository.WorkflowRepository;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Build step that validates the rule set and writes it as a binary snapshot.
+ * Run via {@code ./gradlew ruleSnapshot}; the server maps the snapshot at boot
+ * when {@code ruleSnapshot} is set in the configuration.
+ */
+public class RuleSnapshotBuilder {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 1) {
+            System.err.println("Usage: RuleSnapshotBuilder <output-file>");
+            System.exit(2);
+        }
+        Path output = Paths.get(args[0]);
+        WorkflowRepository repository = new WorkflowRepository();
+        RuleSnapshot.write(repository.getRulesByPriority(), output);
+
+        // Read it back so a broken snapshot fails the build, not the deployment
+        int rules = RuleSnapshot.read(output).size();
+        System.out.println("Wrote " + rules + " rules to " + output.toAbsolutePath());
+    }
+}
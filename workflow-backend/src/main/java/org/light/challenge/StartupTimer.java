@@ -0,0 +1,111 @@
+package org.light.challenge;
+
+import com.codahale.metrics.Gauge;
+import io.dropwizard.lifecycle.ServerLifecycleListener;
+import io.dropwizard.setup.Environment;
+import org.eclipse.jetty.server.Server;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Measures time-to-first-served-request from JVM launch, so fast-startup
+ * mode (rule snapshot + class-data sharing) can be compared with a plain start.
+ *
+ * The result is printed once and exposed as the
+ * {@code startup.timeToFirstRequestMillis} gauge on the admin port.
+ *
+ * With {@code -Dworkflow.cds.training=true} the server sends itself one request
+ * after start-up and exits; this is the training run used to record the
+ * class list for the AppCDS archive. It must run with {@code cds-training.yml},
+ * which keeps approvals in memory and drops notifications, so the training
+ * request leaves no trace.
+ */
+public class StartupTimer implements ContainerResponseFilter, ServerLifecycleListener {
+    private static final String TRAINING_PROPERTY = "workflow.cds.training";
+    private static final String TRAINING_URL_PROPERTY = "workflow.cds.trainingUrl";
+
+    private final long jvmStartMs = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private final long runStartedMs = System.currentTimeMillis();
+    private final AtomicBoolean firstServed = new AtomicBoolean();
+    private volatile long serverStartedMs = -1;
+    private volatile long firstRequestMs = -1;
+
+    /**
+     * Whether this JVM is the AppCDS training run.
+     */
+    public static boolean isTraining() {
+        return Boolean.getBoolean(TRAINING_PROPERTY);
+    }
+
+    /**
+     * Hooks the timer into Jersey, the server lifecycle and the metric registry.
+     */
+    public void register(Environment environment) {
+        environment.jersey().register(this);
+        environment.lifecycle().addServerLifecycleListener(this);
+        environment.metrics().register("startup.timeToFirstRequestMillis",
+            (Gauge<Long>) () -> firstRequestMs < 0 ? -1L : firstRequestMs - jvmStartMs);
+    }
+
+    @Override
+    public void serverStarted(Server server) {
+        serverStartedMs = System.currentTimeMillis();
+        if (isTraining()) {
+            Thread training = new Thread(this::runTrainingRequest, "cds-training");
+            training.setDaemon(true);
+            training.start();
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        if (firstServed.compareAndSet(false, true)) {
+            firstRequestMs = System.currentTimeMillis();
+            System.out.println(String.format(
+                "Startup: app init at %d ms, server ready at %d ms, first request served at %d ms after JVM start (%s)",
+                runStartedMs - jvmStartMs,
+                serverStartedMs < 0 ? -1 : serverStartedMs - jvmStartMs,
+                firstRequestMs - jvmStartMs,
+                usesSharedArchive() ? "AppCDS archive" : "no AppCDS archive"
+            ));
+        }
+    }
+
+    private static boolean usesSharedArchive() {
+        return ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                .anyMatch(arg -> arg.startsWith("-XX:SharedArchiveFile"));
+    }
+
+    private void runTrainingRequest() {
+        int status = 0;
+        try {
+            URL url = new URL(System.getProperty(TRAINING_URL_PROPERTY, "http://localhost:8080/workflow"));
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setRequestMethod("POST");
+            connection.setRequestProperty("Content-Type", "application/json");
+            connection.setDoOutput(true);
+            try (OutputStream body = connection.getOutputStream()) {
+                body.write("{\"amount\": 7000, \"department\": \"operations\", \"requiresManagerApproval\": true}"
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+            status = connection.getResponseCode();
+            try (InputStream response = connection.getInputStream()) {
+                // Drain so the full response path is exercised
+                response.readAllBytes();
+            }
+        } catch (Exception e) {
+            System.err.println("CDS training request failed: " + e.getMessage());
+        }
+        System.out.println("CDS training run finished (HTTP " + status + "), exiting");
+        System.exit(status == 200 ? 0 : 1);
+    }
+}
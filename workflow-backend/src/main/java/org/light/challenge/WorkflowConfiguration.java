@@ -0,0 +1,107 @@
+package org.light.challenge;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.Configuration;
+import org.light.challenge.admission.AdmissionFactory;
+import org.light.challenge.analytics.AnalyticsFactory;
+import org.light.challenge.approval.PendingApprovalStoreFactory;
+import org.light.challenge.escalation.EscalationSchedulerFactory;
+import org.light.challenge.execution.EvaluationExecutorFactory;
+import org.light.challenge.notification.NotificationFactory;
+import org.light.challenge.shadow.ShadowFactory;
+
+/**
+ * Application configuration, bound from config.yml.
+ */
+public class WorkflowConfiguration extends Configuration {
+    @JsonProperty("ruleSnapshot")
+    private String ruleSnapshot;
+
+    @JsonProperty("approvals")
+    private PendingApprovalStoreFactory approvals = new PendingApprovalStoreFactory();
+
+    @JsonProperty("escalation")
+    private EscalationSchedulerFactory escalation = new EscalationSchedulerFactory();
+
+    @JsonProperty("notifications")
+    private NotificationFactory notifications = new NotificationFactory();
+
+    @JsonProperty("evaluation")
+    private EvaluationExecutorFactory evaluation = new EvaluationExecutorFactory();
+
+    @JsonProperty("admission")
+    private AdmissionFactory admission = new AdmissionFactory();
+
+    @JsonProperty("analytics")
+    private AnalyticsFactory analytics = new AnalyticsFactory();
+
+    @JsonProperty("shadow")
+    private ShadowFactory shadow = new ShadowFactory();
+
+    /**
+     * Path of a prebuilt rule snapshot to load at boot, or null to build the default rules.
+     */
+    public String getRuleSnapshot() {
+        return ruleSnapshot;
+    }
+
+    public void setRuleSnapshot(String ruleSnapshot) {
+        this.ruleSnapshot = ruleSnapshot;
+    }
+
+    public PendingApprovalStoreFactory getApprovals() {
+        return approvals;
+    }
+
+    public void setApprovals(PendingApprovalStoreFactory approvals) {
+        this.approvals = approvals;
+    }
+
+    public EscalationSchedulerFactory getEscalation() {
+        return escalation;
+    }
+
+    public void setEscalation(EscalationSchedulerFactory escalation) {
+        this.escalation = escalation;
+    }
+
+    public NotificationFactory getNotifications() {
+        return notifications;
+    }
+
+    public void setNotifications(NotificationFactory notifications) {
+        this.notifications = notifications;
+    }
+
+    public EvaluationExecutorFactory getEvaluation() {
+        return evaluation;
+    }
+
+    public void setEvaluation(EvaluationExecutorFactory evaluation) {
+        this.evaluation = evaluation;
+    }
+
+    public AnalyticsFactory getAnalytics() {
+        return analytics;
+    }
+
+    public void setAnalytics(AnalyticsFactory analytics) {
+        this.analytics = analytics;
+    }
+
+    public AdmissionFactory getAdmission() {
+        return admission;
+    }
+
+    public void setAdmission(AdmissionFactory admission) {
+        this.admission = admission;
+    }
+
+    public ShadowFactory getShadow() {
+        return shadow;
+    }
+
+    public void setShadow(ShadowFactory shadow) {
+        this.shadow = shadow;
+    }
+}
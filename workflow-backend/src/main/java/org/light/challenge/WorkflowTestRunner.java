@@ -36,6 +36,9 @@ public class WorkflowTestRunner {
         
         // Edge case: Exactly 10000
         testInvoice(engine, 10000, "sales", false);
+
+        // Edge case: One cent over 10000
+        testInvoice(engine, 10000.01, "sales", false);
         
         // Edge case: Exactly 5000
         testInvoice(engine, 5000, "sales", false);
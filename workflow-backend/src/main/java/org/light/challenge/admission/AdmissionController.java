@@ -0,0 +1,231 @@
+package org.light.challenge.admission;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides whether a workflow request is evaluated or shed, before any work is
+ * done for it:
+ * <ol>
+ *   <li>each client has a {@link TokenBucket}; a client over its rate gets 429</li>
+ *   <li>the request's {@link Priority}, by invoice amount, must fit in its share of
+ *       the {@link AimdLimit}; otherwise the server is overloaded and it gets 503</li>
+ * </ol>
+ * Admitted requests hold a {@link Permit} until they finish, and its latency
+ * feeds back into the limit.
+ *
+ * At most {@code maxClients} buckets are kept. When the table is full, idle
+ * clients' buckets are swept out at most once per refill period, by whichever
+ * request gets there first; until a sweep frees room, clients without a bucket
+ * share one overflow bucket. A flood of new client IDs therefore costs one
+ * scan per refill period rather than one per request, and cannot reset the
+ * limits of the clients already tracked.
+ */
+public class AdmissionController {
+    private static final AdmissionController DISABLED = new AdmissionController();
+
+    private final boolean enabled;
+    private final double clientRate;
+    private final int clientBurst;
+    private final int maxClients;
+    private final long normalAmountMinor;
+    private final long highAmountMinor;
+    private final AimdLimit limit;
+    private final LongSupplier nanoClock;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final TokenBucket overflowBucket;
+    private final long sweepIntervalNanos;
+    private final AtomicLong nextSweepNanos;
+    private final LongAdder sweeps = new LongAdder();
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final Map<Priority, LongAdder> shed = new EnumMap<>(Priority.class);
+
+    /**
+     * @param clientRate        sustained requests per second per client
+     * @param clientBurst       requests a client may send at once after being idle
+     * @param maxClients        buckets kept; beyond that, idle ones are swept out and new clients share one bucket
+     * @param normalAmountMinor invoices from this amount are {@link Priority#NORMAL}
+     * @param highAmountMinor   invoices from this amount are {@link Priority#HIGH}
+     */
+    public AdmissionController(double clientRate, int clientBurst, int maxClients,
+                               long normalAmountMinor, long highAmountMinor,
+                               AimdLimit limit, LongSupplier nanoClock) {
+        this.enabled = true;
+        this.clientRate = clientRate;
+        this.clientBurst = clientBurst;
+        this.maxClients = maxClients;
+        this.normalAmountMinor = normalAmountMinor;
+        this.highAmountMinor = highAmountMinor;
+        this.limit = limit;
+        this.nanoClock = nanoClock;
+        long now = nanoClock.getAsLong();
+        this.overflowBucket = new TokenBucket(clientRate, clientBurst, now);
+        // An idle bucket is full again after this long, so sweeping more often finds little
+        this.sweepIntervalNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(100),
+                (long) (clientBurst / clientRate * TimeUnit.SECONDS.toNanos(1)));
+        this.nextSweepNanos = new AtomicLong(now);
+        for (Priority priority : Priority.values()) {
+            shed.put(priority, new LongAdder());
+        }
+    }
+
+    private AdmissionController() {
+        this.enabled = false;
+        this.clientRate = 0;
+        this.clientBurst = 0;
+        this.maxClients = 0;
+        this.normalAmountMinor = 0;
+        this.highAmountMinor = 0;
+        this.limit = null;
+        this.nanoClock = System::nanoTime;
+        this.overflowBucket = null;
+        this.sweepIntervalNanos = 0;
+        this.nextSweepNanos = null;
+        for (Priority priority : Priority.values()) {
+            shed.put(priority, new LongAdder());
+        }
+    }
+
+    /**
+     * Returns a controller that admits everything.
+     */
+    public static AdmissionController disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Admits a request or explains why not.
+     *
+     * @param clientId    caller identity for rate limiting
+     * @param amountMinor invoice amount, which sets the request's priority
+     * @throws AdmissionException if the request is shed
+     */
+    public Permit admit(String clientId, long amountMinor) throws AdmissionException {
+        if (!enabled) {
+            return Permit.UNLIMITED;
+        }
+        long now = nanoClock.getAsLong();
+        TokenBucket bucket = bucketFor(clientId, now);
+        long waitNanos = bucket.tryAcquire(now);
+        if (waitNanos > 0) {
+            rateLimited.increment();
+            throw new AdmissionException(AdmissionException.TOO_MANY_REQUESTS,
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L)),
+                    "Rate limit exceeded for client " + clientId);
+        }
+
+        Priority priority = priorityOf(amountMinor);
+        int inFlight = limit.tryAcquire(priority.getShare());
+        if (inFlight < 0) {
+            // Not the client's fault, so it keeps its token
+            bucket.refund();
+            shed.get(priority).increment();
+            throw new AdmissionException(AdmissionException.SERVICE_UNAVAILABLE, 1,
+                    "Server is at capacity for " + priority.name().toLowerCase(Locale.ROOT) + "-priority invoices");
+        }
+        admitted.increment();
+        return new Permit(this, now, inFlight);
+    }
+
+    public Priority priorityOf(long amountMinor) {
+        if (amountMinor >= highAmountMinor) {
+            return Priority.HIGH;
+        }
+        return amountMinor >= normalAmountMinor ? Priority.NORMAL : Priority.LOW;
+    }
+
+    private TokenBucket bucketFor(String clientId, long now) {
+        TokenBucket bucket = buckets.get(clientId);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxClients) {
+            sweepIdle(now);
+            if (buckets.size() >= maxClients) {
+                return overflowBucket;
+            }
+        }
+        return buckets.computeIfAbsent(clientId, id -> new TokenBucket(clientRate, clientBurst, now));
+    }
+
+    /**
+     * Forgets idle clients, if no sweep ran within the last refill period; a
+     * full bucket is the same as a new one. The compare-and-set lets one
+     * caller through per period, so concurrent callers never scan together.
+     */
+    private void sweepIdle(long now) {
+        long due = nextSweepNanos.get();
+        if (now - due < 0 || !nextSweepNanos.compareAndSet(due, now + sweepIntervalNanos)) {
+            return;
+        }
+        buckets.values().removeIf(idle -> idle.isFull(now));
+        sweeps.increment();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getLimit() {
+        return enabled ? limit.getLimit() : 0;
+    }
+
+    public int getInFlight() {
+        return enabled ? limit.getInFlight() : 0;
+    }
+
+    public int getTrackedClients() {
+        return buckets.size();
+    }
+
+    /**
+     * Returns how many times idle client buckets have been swept out.
+     */
+    public long getSweeps() {
+        return sweeps.sum();
+    }
+
+    public long getAdmitted() {
+        return admitted.sum();
+    }
+
+    public long getRateLimited() {
+        return rateLimited.sum();
+    }
+
+    public long getShed(Priority priority) {
+        return shed.get(priority).sum();
+    }
+
+    /**
+     * A slot held by an admitted request; release it exactly once when the
+     * request has been answered.
+     */
+    public static final class Permit {
+        static final Permit UNLIMITED = new Permit(null, 0, 0);
+
+        private final AdmissionController controller;
+        private final long startNanos;
+        private final int inFlightAtStart;
+
+        private Permit(AdmissionController controller, long startNanos, int inFlightAtStart) {
+            this.controller = controller;
+            this.startNanos = startNanos;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        public void release() {
+            if (controller != null) {
+                controller.limit.release(startNanos, controller.nanoClock.getAsLong(), inFlightAtStart);
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.light.challenge.admission;
+
+/**
+ * Thrown when a request is not admitted. Carries the HTTP status to return
+ * (429 for a client over its rate, 503 when the server is at its limit) and
+ * how long the client should wait before retrying.
+ */
+public class AdmissionException extends Exception {
+    public static final int TOO_MANY_REQUESTS = 429;
+    public static final int SERVICE_UNAVAILABLE = 503;
+
+    private final int status;
+    private final long retryAfterSeconds;
+
+    AdmissionException(int status, long retryAfterSeconds, String message) {
+        super(message, null, false, false);
+        this.status = status;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
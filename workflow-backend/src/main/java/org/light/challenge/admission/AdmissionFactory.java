@@ -0,0 +1,178 @@
+package org.light.challenge.admission;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+import org.light.challenge.model.Money;
+
+import java.util.Locale;
+
+/**
+ * Configuration for admission control on {@code POST /workflow} and
+ * {@code POST /workflow/async}.
+ */
+public class AdmissionFactory {
+    @JsonProperty("enabled")
+    private boolean enabled = true;
+
+    @JsonProperty("clientRate")
+    private double clientRate = 100;
+
+    @JsonProperty("clientBurst")
+    private int clientBurst = 200;
+
+    @JsonProperty("maxClients")
+    private int maxClients = 10_000;
+
+    @JsonProperty("initialLimit")
+    private int initialLimit = 64;
+
+    @JsonProperty("minLimit")
+    private int minLimit = 8;
+
+    @JsonProperty("maxLimit")
+    private int maxLimit = 1024;
+
+    @JsonProperty("latencyTarget")
+    private Duration latencyTarget = Duration.milliseconds(250);
+
+    @JsonProperty("backoffRatio")
+    private double backoffRatio = 0.9;
+
+    @JsonProperty("normalPriorityAmount")
+    private long normalPriorityAmount = 1_000;
+
+    @JsonProperty("highPriorityAmount")
+    private long highPriorityAmount = 10_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Sustained requests per second allowed per client.
+     */
+    public double getClientRate() {
+        return clientRate;
+    }
+
+    public void setClientRate(double clientRate) {
+        this.clientRate = clientRate;
+    }
+
+    public int getClientBurst() {
+        return clientBurst;
+    }
+
+    public void setClientBurst(int clientBurst) {
+        this.clientBurst = clientBurst;
+    }
+
+    /**
+     * Client buckets kept. When full, idle ones are swept out at most once per
+     * refill period ({@code clientBurst / clientRate}); until then new clients
+     * share one overflow bucket.
+     */
+    public int getMaxClients() {
+        return maxClients;
+    }
+
+    public void setMaxClients(int maxClients) {
+        this.maxClients = maxClients;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Requests slower than this shrink the concurrency limit.
+     */
+    public Duration getLatencyTarget() {
+        return latencyTarget;
+    }
+
+    public void setLatencyTarget(Duration latencyTarget) {
+        this.latencyTarget = latencyTarget;
+    }
+
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    public void setBackoffRatio(double backoffRatio) {
+        this.backoffRatio = backoffRatio;
+    }
+
+    /**
+     * Invoices from this amount (in whole currency units) are normal priority; below it, low.
+     */
+    public long getNormalPriorityAmount() {
+        return normalPriorityAmount;
+    }
+
+    public void setNormalPriorityAmount(long normalPriorityAmount) {
+        this.normalPriorityAmount = normalPriorityAmount;
+    }
+
+    /**
+     * Invoices from this amount (in whole currency units) are high priority and shed last.
+     */
+    public long getHighPriorityAmount() {
+        return highPriorityAmount;
+    }
+
+    public void setHighPriorityAmount(long highPriorityAmount) {
+        this.highPriorityAmount = highPriorityAmount;
+    }
+
+    /**
+     * Creates the controller and registers its state as {@code admission.*} metrics.
+     */
+    public AdmissionController build(MetricRegistry metrics) {
+        if (!enabled) {
+            return AdmissionController.disabled();
+        }
+        AimdLimit limit = new AimdLimit(initialLimit, minLimit, maxLimit,
+                latencyTarget.toNanoseconds(), backoffRatio);
+        AdmissionController controller = new AdmissionController(clientRate, clientBurst, maxClients,
+                Money.ofMajor(normalPriorityAmount), Money.ofMajor(highPriorityAmount), limit, System::nanoTime);
+
+        metrics.register("admission.limit", (Gauge<Integer>) controller::getLimit);
+        metrics.register("admission.inFlight", (Gauge<Integer>) controller::getInFlight);
+        metrics.register("admission.clients", (Gauge<Integer>) controller::getTrackedClients);
+        metrics.register("admission.admitted", (Gauge<Long>) controller::getAdmitted);
+        metrics.register("admission.rateLimited", (Gauge<Long>) controller::getRateLimited);
+        metrics.register("admission.sweeps", (Gauge<Long>) controller::getSweeps);
+        for (Priority priority : Priority.values()) {
+            metrics.register("admission.shed." + priority.name().toLowerCase(Locale.ROOT),
+                    (Gauge<Long>) () -> controller.getShed(priority));
+        }
+        return controller;
+    }
+}
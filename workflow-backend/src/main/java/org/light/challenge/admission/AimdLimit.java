@@ -0,0 +1,85 @@
+package org.light.challenge.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to observed latency with additive increase,
+ * multiplicative decrease (AIMD), as TCP congestion control does with its window.
+ *
+ * A request slower than the latency target is a congestion signal: the limit
+ * is multiplied by the backoff ratio, at most once per "generation" so a burst
+ * of slow requests that were all started under the old limit only counts once.
+ * Each fast request completed while the limit was at least half used grows the
+ * limit by {@code 1/limit}, i.e. by one per limit's worth of requests.
+ */
+public class AimdLimit {
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private long lastDecreaseNanos = Long.MIN_VALUE;
+
+    public AimdLimit(int initialLimit, int minLimit, int maxLimit, long latencyTargetNanos, double backoffRatio) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be in (0, 1)");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTargetNanos = latencyTargetNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Takes a slot if fewer than {@code share} of the limit are in flight.
+     *
+     * @return the number in flight including this request, or -1 if refused
+     */
+    public int tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * Frees the slot of a finished request and adapts the limit to its latency.
+     *
+     * @param startNanos    when the request was admitted
+     * @param endNanos      when it finished
+     * @param inFlightAtStart what {@link #tryAcquire} returned for it
+     */
+    public void release(long startNanos, long endNanos, int inFlightAtStart) {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            double current = limit;
+            if (endNanos - startNanos > latencyTargetNanos) {
+                if (startNanos > lastDecreaseNanos) {
+                    limit = Math.max(minLimit, current * backoffRatio);
+                    lastDecreaseNanos = endNanos;
+                }
+            } else if (inFlightAtStart * 2 >= current) {
+                limit = Math.min(maxLimit, current + 1 / current);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,25 @@
+package org.light.challenge.admission;
+
+/**
+ * Shedding classes for invoices by amount. Each class may only use its share
+ * of the concurrency limit, so as load grows low-value requests are refused
+ * first and the remaining headroom is kept for high-value invoices.
+ */
+public enum Priority {
+    LOW(0.5),
+    NORMAL(0.8),
+    HIGH(1.0);
+
+    private final double share;
+
+    Priority(double share) {
+        this.share = share;
+    }
+
+    /**
+     * Fraction of the concurrency limit this class may fill.
+     */
+    public double getShare() {
+        return share;
+    }
+}
@@ -0,0 +1,107 @@
+package org.light.challenge.analytics;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.setup.Environment;
+import org.light.challenge.engine.WorkflowEngine;
+import org.light.challenge.model.Money;
+
+/**
+ * Configuration for live invoice-traffic analytics on the admin port.
+ * With the defaults the sketches take roughly 200 KB in total.
+ */
+public class AnalyticsFactory {
+    @JsonProperty("enabled")
+    private boolean enabled = true;
+
+    @JsonProperty("sketchWidth")
+    private int sketchWidth = 2048;
+
+    @JsonProperty("sketchDepth")
+    private int sketchDepth = 5;
+
+    @JsonProperty("topDepartments")
+    private int topDepartments = 50;
+
+    @JsonProperty("amountAccuracy")
+    private double amountAccuracy = 0.01;
+
+    @JsonProperty("maxAmount")
+    private long maxAmount = 1_000_000_000L;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Counters per row of the department Count-Min sketch.
+     */
+    public int getSketchWidth() {
+        return sketchWidth;
+    }
+
+    public void setSketchWidth(int sketchWidth) {
+        this.sketchWidth = sketchWidth;
+    }
+
+    public int getSketchDepth() {
+        return sketchDepth;
+    }
+
+    public void setSketchDepth(int sketchDepth) {
+        this.sketchDepth = sketchDepth;
+    }
+
+    /**
+     * How many candidate top departments are tracked.
+     */
+    public int getTopDepartments() {
+        return topDepartments;
+    }
+
+    public void setTopDepartments(int topDepartments) {
+        this.topDepartments = topDepartments;
+    }
+
+    /**
+     * Relative accuracy of the amount quantiles, e.g. 0.01 for 1%.
+     */
+    public double getAmountAccuracy() {
+        return amountAccuracy;
+    }
+
+    public void setAmountAccuracy(double amountAccuracy) {
+        this.amountAccuracy = amountAccuracy;
+    }
+
+    /**
+     * Largest amount (in whole currency units) resolved by the quantile sketches.
+     */
+    public long getMaxAmount() {
+        return maxAmount;
+    }
+
+    public void setMaxAmount(long maxAmount) {
+        this.maxAmount = maxAmount;
+    }
+
+    /**
+     * Creates the analytics, feeds it from the engine and serves it at
+     * {@code /analytics} on the admin port. Returns null when disabled.
+     */
+    public InvoiceAnalytics build(WorkflowEngine engine, Environment environment) {
+        if (!enabled) {
+            return null;
+        }
+        InvoiceAnalytics analytics = new InvoiceAnalytics(
+                sketchWidth, sketchDepth, topDepartments, amountAccuracy, Money.ofMajor(maxAmount));
+        engine.addDecisionListener(analytics);
+        environment.admin()
+                .addServlet("analytics", new AnalyticsServlet(analytics, environment.getObjectMapper()))
+                .addMapping("/analytics");
+        return analytics;
+    }
+}
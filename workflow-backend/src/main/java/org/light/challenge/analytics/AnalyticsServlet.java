@@ -0,0 +1,42 @@
+package org.light.challenge.analytics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Serves {@link InvoiceAnalytics} as JSON on the admin port.
+ *
+ * GET /analytics?top=10
+ */
+public class AnalyticsServlet extends HttpServlet {
+    private static final int DEFAULT_TOP = 10;
+
+    private final transient InvoiceAnalytics analytics;
+    private final transient ObjectMapper mapper;
+
+    public AnalyticsServlet(InvoiceAnalytics analytics, ObjectMapper mapper) {
+        this.analytics = analytics;
+        this.mapper = mapper;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        int top = DEFAULT_TOP;
+        String topParam = request.getParameter("top");
+        if (topParam != null) {
+            try {
+                top = Math.max(1, Integer.parseInt(topParam));
+            } catch (NumberFormatException e) {
+                // Keep the default for malformed values
+            }
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType("application/json");
+        response.setHeader("Cache-Control", "must-revalidate,no-cache,no-store");
+        mapper.writeValue(response.getOutputStream(), analytics.snapshot(top));
+    }
+}
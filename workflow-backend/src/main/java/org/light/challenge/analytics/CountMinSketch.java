@@ -0,0 +1,91 @@
+package org.light.challenge.analytics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-Min sketch: approximate per-key counts in fixed memory.
+ *
+ * Estimates never undercount. With width {@code w} and depth {@code d} they
+ * overcount by at most {@code 2N/w} (N = total count) with probability at
+ * least {@code 1 - 2^-d}. Updates are lock-free.
+ */
+public class CountMinSketch {
+    private final int depth;
+    private final int width;
+    private final int mask;
+    private final AtomicLongArray counts;
+
+    /**
+     * @param width counters per row, rounded up to a power of two
+     * @param depth number of rows (independent hash functions)
+     */
+    public CountMinSketch(int width, int depth) {
+        if (width < 1 || width > 1 << 24 || depth < 1 || depth > 16) {
+            throw new IllegalArgumentException("Width must be 1..2^24 and depth 1..16");
+        }
+        int rounded = 1;
+        while (rounded < width) {
+            rounded <<= 1;
+        }
+        this.width = rounded;
+        this.depth = depth;
+        this.mask = this.width - 1;
+        this.counts = new AtomicLongArray(this.width * depth);
+    }
+
+    public void add(String key, long count) {
+        long hash = hash64(key);
+        for (int row = 0; row < depth; row++) {
+            counts.addAndGet(row * width + bucket(hash, row), count);
+        }
+    }
+
+    /**
+     * Returns an upper-bound estimate of the key's count.
+     */
+    public long estimate(String key) {
+        long hash = hash64(key);
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counts.get(row * width + bucket(hash, row)));
+        }
+        return min;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Returns the approximate memory held by the counters, in bytes.
+     */
+    public long sizeInBytes() {
+        return (long) width * depth * Long.BYTES;
+    }
+
+    private int bucket(long hash, int row) {
+        // Kirsch-Mitzenmacher: row i uses h1 + i * h2
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        return (h1 + row * h2) & mask;
+    }
+
+    private static long hash64(String key) {
+        // 64-bit FNV-1a over the chars, then the murmur3 finalizer to spread the bits
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,121 @@
+package org.light.challenge.analytics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracks the most frequent keys in a stream using a {@link CountMinSketch}
+ * for counts and a fixed-size candidate set of the current top keys.
+ *
+ * Candidates are split into shards by key hash, each with its own lock, so
+ * request threads updating different keys rarely contend; {@link #top}
+ * merges the shards. A key always lands in the same shard, and every shard
+ * can hold {@code capacity} keys, so the global top keys are always among
+ * the candidates. Each shard also remembers its weakest count, so a key too
+ * rare to enter it is turned away without scanning the candidates.
+ *
+ * Memory is the sketch plus at most {@code capacity} candidates per shard,
+ * however many distinct keys the stream contains.
+ */
+public class HeavyHitters {
+    private final CountMinSketch sketch;
+    private final int capacity;
+    private final Shard[] shards;
+
+    /**
+     * Uses one shard per available processor, rounded up to a power of two.
+     */
+    public HeavyHitters(CountMinSketch sketch, int capacity) {
+        this(sketch, capacity, Runtime.getRuntime().availableProcessors());
+    }
+
+    public HeavyHitters(CountMinSketch sketch, int capacity, int shards) {
+        this.sketch = sketch;
+        this.capacity = capacity;
+        int count = Integer.highestOneBit(Math.max(1, Math.min(shards, 64)) * 2 - 1);
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            this.shards[i] = new Shard();
+        }
+    }
+
+    public void add(String key) {
+        sketch.add(key, 1);
+        long estimate = sketch.estimate(key);
+        int hash = key.hashCode();
+        shards[(hash ^ (hash >>> 16)) & (shards.length - 1)].offer(key, estimate, capacity);
+    }
+
+    /**
+     * Returns an upper-bound estimate of any key's count.
+     */
+    public long estimate(String key) {
+        return sketch.estimate(key);
+    }
+
+    /**
+     * Returns up to {@code limit} keys with their estimated counts, most frequent first.
+     */
+    public Map<String, Long> top(int limit) {
+        List<String> keys = new ArrayList<>();
+        for (Shard shard : shards) {
+            shard.collect(keys);
+        }
+        // Re-read the sketch so counts are current, not as of each key's last update
+        List<Map.Entry<String, Long>> ranked = new ArrayList<>();
+        for (String key : keys) {
+            ranked.add(Map.entry(key, sketch.estimate(key)));
+        }
+        ranked.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        Map<String, Long> top = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : ranked.subList(0, Math.min(limit, ranked.size()))) {
+            top.put(entry.getKey(), entry.getValue());
+        }
+        return top;
+    }
+
+    public long sizeInBytes() {
+        // Sketch plus a rough per-candidate cost for the map entry, key and boxed count
+        return sketch.sizeInBytes() + (long) shards.length * capacity * 96L;
+    }
+
+    /**
+     * The candidates whose keys hash to one shard.
+     */
+    private static final class Shard {
+        private final Map<String, Long> candidates = new HashMap<>();
+        // No candidate's count is below this; estimates only grow, so it stays a lower bound
+        private long weakestCount;
+
+        synchronized void offer(String key, long estimate, int capacity) {
+            if (candidates.containsKey(key) || candidates.size() < capacity) {
+                candidates.put(key, estimate);
+                return;
+            }
+            if (estimate <= weakestCount) {
+                return;
+            }
+            // Replace the weakest candidate if this key has overtaken it
+            String weakest = null;
+            long weakestSeen = Long.MAX_VALUE;
+            for (Map.Entry<String, Long> candidate : candidates.entrySet()) {
+                if (candidate.getValue() < weakestSeen) {
+                    weakest = candidate.getKey();
+                    weakestSeen = candidate.getValue();
+                }
+            }
+            weakestCount = weakestSeen;
+            if (estimate > weakestSeen) {
+                candidates.remove(weakest);
+                candidates.put(key, estimate);
+            }
+        }
+
+        synchronized void collect(List<String> keys) {
+            keys.addAll(candidates.keySet());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package org.light.challenge.analytics;
+
+import org.light.challenge.engine.DecisionListener;
+import org.light.challenge.model.ApproverRole;
+import org.light.challenge.model.Invoice;
+import org.light.challenge.model.Money;
+import org.light.challenge.model.WorkflowRule;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live traffic analytics fed from engine decisions, in fixed memory:
+ * <ul>
+ *   <li>top departments by volume (Count-Min sketch + heavy-hitter candidates)</li>
+ *   <li>invoice amount quantiles per approver role (relative-error quantile sketch)</li>
+ *   <li>per-rule decision counts over the last minute and the last hour</li>
+ * </ul>
+ * Memory depends only on the configuration and the number of rules, never on
+ * how many invoices have been seen.
+ */
+public class InvoiceAnalytics implements DecisionListener {
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    private final HeavyHitters departments;
+    private final Map<ApproverRole, QuantileSketch> amountsByRole = new EnumMap<>(ApproverRole.class);
+    private final Map<String, RuleCounters> rules = new ConcurrentHashMap<>();
+    private final LongAdder decisions = new LongAdder();
+
+    public InvoiceAnalytics(int sketchWidth, int sketchDepth, int topDepartments,
+                            double amountAccuracy, long maxAmountMinor) {
+        this.departments = new HeavyHitters(new CountMinSketch(sketchWidth, sketchDepth), topDepartments);
+        // One sketch per role up front, so the map is never modified after construction
+        for (ApproverRole role : ApproverRole.values()) {
+            amountsByRole.put(role, new QuantileSketch(amountAccuracy, maxAmountMinor));
+        }
+    }
+
+    @Override
+    public void onDecision(Invoice invoice, WorkflowRule rule) {
+        decisions.increment();
+        if (invoice.getDepartment() != null) {
+            departments.add(invoice.getDepartment().trim().toLowerCase(Locale.ROOT));
+        }
+        amountsByRole.get(rule.getAction().getApproverRole()).add(invoice.getAmountMinor());
+        rules.computeIfAbsent(rule.getId(), id -> new RuleCounters()).add(System.currentTimeMillis());
+    }
+
+    /**
+     * Returns a JSON-ready view of the current analytics.
+     *
+     * @param top how many departments to list
+     */
+    public Map<String, Object> snapshot(int top) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("decisions", decisions.sum());
+        result.put("topDepartments", departments.top(top));
+
+        Map<String, Object> amounts = new LinkedHashMap<>();
+        amountsByRole.forEach((role, sketch) -> {
+            if (sketch.getCount() == 0) {
+                return;
+            }
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", sketch.getCount());
+            for (double q : QUANTILES) {
+                summary.put("p" + Math.round(q * 100), Money.toMajor(sketch.quantile(q)));
+            }
+            amounts.put(role.name(), summary);
+        });
+        result.put("amountQuantilesByRole", amounts);
+
+        long now = System.currentTimeMillis();
+        Map<String, Object> ruleCounts = new TreeMap<>();
+        rules.forEach((id, counters) -> {
+            long lastHour = counters.lastHour.sum(now);
+            if (lastHour == 0) {
+                // Drop rules idle for an hour, e.g. deleted ones, so the map stays bounded
+                rules.remove(id, counters);
+                return;
+            }
+            Map<String, Long> counts = new LinkedHashMap<>();
+            counts.put("lastMinute", counters.lastMinute.sum(now));
+            counts.put("lastHour", lastHour);
+            ruleCounts.put(id, counts);
+        });
+        result.put("rules", ruleCounts);
+        result.put("sketchBytes", sizeInBytes());
+        return result;
+    }
+
+    /**
+     * Returns the approximate memory held by the sketches and counters, in bytes.
+     */
+    public long sizeInBytes() {
+        long bytes = departments.sizeInBytes();
+        for (QuantileSketch sketch : amountsByRole.values()) {
+            bytes += sketch.sizeInBytes();
+        }
+        return bytes + rules.size() * RuleCounters.SIZE_IN_BYTES;
+    }
+
+    private static final class RuleCounters {
+        static final long SIZE_IN_BYTES = 2 * 60 * 2 * Long.BYTES;
+
+        final SlidingWindowCounter lastMinute = new SlidingWindowCounter(1_000, 60);
+        final SlidingWindowCounter lastHour = new SlidingWindowCounter(60_000, 60);
+
+        void add(long now) {
+            lastMinute.add(now);
+            lastHour.add(now);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.light.challenge.analytics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Relative-error quantile sketch for non-negative integer values such as
+ * amounts in minor units (DDSketch with a fixed, bounded bucket range).
+ *
+ * Values are counted in logarithmic buckets of ratio {@code gamma}, so any
+ * reported quantile is within {@code relativeAccuracy} of a true value at
+ * that rank. Memory is fixed by the accuracy and the maximum value; sketches
+ * with the same parameters merge exactly. Updates are lock-free.
+ */
+public class QuantileSketch {
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    private final long maxValue;
+    private final AtomicLongArray buckets;
+    private final LongAdder zeros = new LongAdder();
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * @param relativeAccuracy e.g. 0.01 for quantiles within 1%
+     * @param maxValue         largest value tracked exactly; larger values land in the top bucket
+     */
+    public QuantileSketch(double relativeAccuracy, long maxValue) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1 || maxValue < 1) {
+            throw new IllegalArgumentException("Accuracy must be in (0, 1) and maxValue positive");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+        this.maxValue = maxValue;
+        this.buckets = new AtomicLongArray(index(maxValue) + 1);
+    }
+
+    public void add(long value) {
+        if (value <= 0) {
+            zeros.increment();
+        } else {
+            buckets.incrementAndGet(index(Math.min(value, maxValue)));
+        }
+        count.increment();
+    }
+
+    /**
+     * Adds all values recorded by another sketch with the same parameters.
+     */
+    public void merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy || other.maxValue != maxValue) {
+            throw new IllegalArgumentException("Sketches with different parameters cannot be merged");
+        }
+        for (int i = 0; i < buckets.length(); i++) {
+            long n = other.buckets.get(i);
+            if (n != 0) {
+                buckets.addAndGet(i, n);
+            }
+        }
+        zeros.add(other.zeros.sum());
+        count.add(other.count.sum());
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the approximate value at quantile {@code q} (0..1), or 0 if empty.
+     */
+    public long quantile(double q) {
+        long total = zeros.sum();
+        for (int i = 0; i < buckets.length(); i++) {
+            total += buckets.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.floor(q * (total - 1));
+        long seen = zeros.sum();
+        if (rank < seen) {
+            return 0;
+        }
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen > rank) {
+                return Math.min(Math.round(2 * Math.pow(gamma, i) / (gamma + 1)), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    public long sizeInBytes() {
+        return (long) buckets.length() * Long.BYTES;
+    }
+
+    private int index(long value) {
+        // Bucket i holds (gamma^(i-1), gamma^i]
+        return (int) Math.ceil(Math.log(value) / logGamma);
+    }
+}
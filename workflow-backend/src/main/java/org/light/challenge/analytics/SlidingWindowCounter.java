@@ -0,0 +1,46 @@
+package org.light.challenge.analytics;
+
+/**
+ * Event count over a sliding time window, kept in a ring of fixed-width
+ * buckets. The window advances one bucket at a time, so a count covers
+ * between {@code (buckets - 1)} and {@code buckets} bucket widths.
+ */
+public class SlidingWindowCounter {
+    private final long bucketMillis;
+    private final long[] counts;
+    private final long[] epochs;
+
+    public SlidingWindowCounter(long bucketMillis, int buckets) {
+        this.bucketMillis = bucketMillis;
+        this.counts = new long[buckets];
+        this.epochs = new long[buckets];
+    }
+
+    public synchronized void add(long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        int slot = (int) (epoch % counts.length);
+        if (epochs[slot] != epoch) {
+            epochs[slot] = epoch;
+            counts[slot] = 0;
+        }
+        counts[slot]++;
+    }
+
+    /**
+     * Returns the number of events in the window ending at {@code nowMillis}.
+     */
+    public synchronized long sum(long nowMillis) {
+        long oldest = nowMillis / bucketMillis - counts.length + 1;
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (epochs[i] >= oldest) {
+                total += counts[i];
+            }
+        }
+        return total;
+    }
+
+    public long getWindowMillis() {
+        return bucketMillis * counts.length;
+    }
+}
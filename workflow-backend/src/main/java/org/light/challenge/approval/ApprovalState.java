@@ -0,0 +1,19 @@
+package org.light.challenge.approval;
+
+/**
+ * Lifecycle states of an approval request.
+ * PENDING and ESCALATED are open; APPROVED and REJECTED are terminal.
+ */
+public enum ApprovalState {
+    PENDING,
+    APPROVED,
+    REJECTED,
+    ESCALATED;
+
+    /**
+     * Returns true while the approval is still waiting on an approver.
+     */
+    public boolean isOpen() {
+        return this == PENDING || this == ESCALATED;
+    }
+}
@@ -0,0 +1,127 @@
+package org.light.challenge.approval;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Open-addressing hash index from approval ID to record slot, held in
+ * direct memory so it adds no objects to the heap.
+ *
+ * Uses linear probing with backward-shift deletion, so there are no
+ * tombstones and lookups stay short after many removals.
+ * Key 0 marks an empty bucket, which is why approval IDs start at 1.
+ * Not thread-safe; the owning store serializes access.
+ */
+class LongIntIndex {
+    private static final int ENTRY_SIZE = 16;
+    private static final int KEY_OFFSET = 0;
+    private static final int VALUE_OFFSET = 8;
+
+    private final ByteBuffer buckets;
+    private final int mask;
+    private final int maxEntries;
+    private int size;
+
+    /**
+     * @param maxEntries the number of keys the index must hold; the table is
+     *                   sized to keep the load factor at or below 0.5
+     */
+    LongIntIndex(int maxEntries) {
+        int bucketCount = Integer.highestOneBit(Math.max(2, maxEntries) * 2 - 1) << 1;
+        this.buckets = ByteBuffer.allocateDirect(bucketCount * ENTRY_SIZE).order(ByteOrder.nativeOrder());
+        this.mask = bucketCount - 1;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Returns the slot for the key, or -1 if absent.
+     */
+    int get(long key) {
+        for (int i = home(key); ; i = (i + 1) & mask) {
+            long k = keyAt(i);
+            if (k == key) {
+                return buckets.getInt(i * ENTRY_SIZE + VALUE_OFFSET);
+            }
+            if (k == 0) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Inserts or replaces the slot for the key.
+     */
+    void put(long key, int slot) {
+        if (key == 0) {
+            throw new IllegalArgumentException("Key 0 is reserved");
+        }
+        for (int i = home(key); ; i = (i + 1) & mask) {
+            long k = keyAt(i);
+            if (k == 0 || k == key) {
+                if (k == 0) {
+                    if (size == maxEntries) {
+                        throw new IllegalStateException("Index is full (" + maxEntries + " entries)");
+                    }
+                    size++;
+                }
+                buckets.putLong(i * ENTRY_SIZE + KEY_OFFSET, key);
+                buckets.putInt(i * ENTRY_SIZE + VALUE_OFFSET, slot);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes the key if present.
+     */
+    void remove(long key) {
+        int i = home(key);
+        while (true) {
+            long k = keyAt(i);
+            if (k == 0) {
+                return;
+            }
+            if (k == key) {
+                break;
+            }
+            i = (i + 1) & mask;
+        }
+        size--;
+
+        // Shift later entries of the same probe run back into the hole
+        int hole = i;
+        for (int j = (hole + 1) & mask; ; j = (j + 1) & mask) {
+            long k = keyAt(j);
+            if (k == 0) {
+                break;
+            }
+            int h = home(k);
+            boolean movable = hole <= j ? (h <= hole || h > j) : (h <= hole && h > j);
+            if (movable) {
+                buckets.putLong(hole * ENTRY_SIZE + KEY_OFFSET, k);
+                buckets.putInt(hole * ENTRY_SIZE + VALUE_OFFSET, buckets.getInt(j * ENTRY_SIZE + VALUE_OFFSET));
+                hole = j;
+            }
+        }
+        buckets.putLong(hole * ENTRY_SIZE + KEY_OFFSET, 0L);
+    }
+
+    int size() {
+        return size;
+    }
+
+    private long keyAt(int bucket) {
+        return buckets.getLong(bucket * ENTRY_SIZE + KEY_OFFSET);
+    }
+
+    private int home(long key) {
+        // Murmur3 finalizer so sequential IDs spread across the table
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+}
@@ -0,0 +1,128 @@
+package org.light.challenge.approval;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Secondary index over the open approvals of a {@link PendingApprovalStore},
+ * by department, manager-approval flag and amount, so a query for an amount
+ * range within some departments touches only the approvals that can match.
+ *
+ * Approvals are grouped by (department code, flag); within a group, by
+ * logarithmic amount bucket (8 buckets per power of two). Each bucket is a
+ * flat list of slot numbers, and the position of every slot in its list is
+ * kept in one int array, so adds and removes are O(1) apart from the bucket
+ * lookup, and the index costs about 8 bytes per open approval.
+ *
+ * Buckets are coarse: range queries return candidates whose exact amount the
+ * caller still checks. Not thread-safe; the store guards it with its lock.
+ */
+final class OpenApprovalIndex {
+    private static final int SUB_BUCKET_BITS = 3;
+
+    private final Map<Integer, NavigableMap<Integer, SlotList>> groups = new HashMap<>();
+    private final int[] positions;
+
+    OpenApprovalIndex(int capacity) {
+        this.positions = new int[capacity];
+    }
+
+    void add(int slot, int department, boolean managerFlag, long amountMinor) {
+        SlotList bucket = groups.computeIfAbsent(groupKey(department, managerFlag), key -> new TreeMap<>())
+                .computeIfAbsent(bucketOf(amountMinor), key -> new SlotList());
+        positions[slot] = bucket.add(slot);
+    }
+
+    void remove(int slot, int department, boolean managerFlag, long amountMinor) {
+        NavigableMap<Integer, SlotList> group = groups.get(groupKey(department, managerFlag));
+        SlotList bucket = group == null ? null : group.get(bucketOf(amountMinor));
+        if (bucket == null) {
+            return;
+        }
+        int moved = bucket.removeAt(positions[slot]);
+        if (moved >= 0) {
+            positions[moved] = positions[slot];
+        }
+    }
+
+    /**
+     * Visits every slot in a matching group whose amount bucket overlaps the range.
+     *
+     * @param departments which department codes to include
+     * @param managerFlag the flag to include, or null for both
+     */
+    void forEachCandidate(IntPredicate departments, Boolean managerFlag,
+                          long minAmountMinor, long maxAmountMinor, IntConsumer consumer) {
+        if (minAmountMinor > maxAmountMinor) {
+            return;
+        }
+        int fromBucket = bucketOf(minAmountMinor);
+        int toBucket = bucketOf(maxAmountMinor);
+        groups.forEach((key, group) -> {
+            if (!departments.test(key >>> 1) || (managerFlag != null && managerFlag != ((key & 1) != 0))) {
+                return;
+            }
+            for (SlotList bucket : group.subMap(fromBucket, true, toBucket, true).values()) {
+                bucket.forEach(consumer);
+            }
+        });
+    }
+
+    private static int groupKey(int department, boolean managerFlag) {
+        return department << 1 | (managerFlag ? 1 : 0);
+    }
+
+    /**
+     * Monotonic bucket number: the position of the highest set bit plus the
+     * next {@value #SUB_BUCKET_BITS} bits below it.
+     */
+    static int bucketOf(long amountMinor) {
+        if (amountMinor <= 0) {
+            return 0;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(amountMinor);
+        long sub = msb >= SUB_BUCKET_BITS
+                ? amountMinor >>> (msb - SUB_BUCKET_BITS)
+                : amountMinor << (SUB_BUCKET_BITS - msb);
+        return 1 + (msb << SUB_BUCKET_BITS) + (int) (sub & ((1 << SUB_BUCKET_BITS) - 1));
+    }
+
+    /**
+     * Growable list of slots with O(1) removal by swapping in the last element.
+     */
+    private static final class SlotList {
+        private int[] slots = new int[8];
+        private int size;
+
+        int add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size] = slot;
+            return size++;
+        }
+
+        /**
+         * @return the slot moved into the freed position, or -1 if none was
+         */
+        int removeAt(int position) {
+            int last = slots[--size];
+            if (position == size) {
+                return -1;
+            }
+            slots[position] = last;
+            return last;
+        }
+
+        void forEach(IntConsumer consumer) {
+            for (int i = 0; i < size; i++) {
+                consumer.accept(slots[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.light.challenge.approval;
+
+import org.light.challenge.model.ApproverRole;
+import org.light.challenge.model.Invoice;
+import org.light.challenge.model.NotificationChannel;
+
+/**
+ * Immutable snapshot of a single record in the {@link PendingApprovalStore}.
+ */
+public class PendingApproval {
+    private final long id;
+    private final long amountMinor;
+    private final String currency;
+    private final String department;
+    private final boolean requiresManagerApproval;
+    private final String ruleId;
+    private final ApproverRole approverRole;
+    private final NotificationChannel channel;
+    private final ApprovalState state;
+    private final long createdAt;
+    private final long updatedAt;
+    private final long dueAt;
+
+    public PendingApproval(long id, long amountMinor, String currency, String department, boolean requiresManagerApproval,
+                           String ruleId, ApproverRole approverRole, NotificationChannel channel,
+                           ApprovalState state, long createdAt, long updatedAt, long dueAt) {
+        this.id = id;
+        this.amountMinor = amountMinor;
+        this.currency = currency;
+        this.department = department;
+        this.requiresManagerApproval = requiresManagerApproval;
+        this.ruleId = ruleId;
+        this.approverRole = approverRole;
+        this.channel = channel;
+        this.state = state;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.dueAt = dueAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getAmountMinor() {
+        return amountMinor;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public boolean isRequiresManagerApproval() {
+        return requiresManagerApproval;
+    }
+
+    public String getRuleId() {
+        return ruleId;
+    }
+
+    public ApproverRole getApproverRole() {
+        return approverRole;
+    }
+
+    public NotificationChannel getChannel() {
+        return channel;
+    }
+
+    public ApprovalState getState() {
+        return state;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /**
+     * Returns when the next escalation timer is due (epoch millis), or 0 if none.
+     */
+    public long getDueAt() {
+        return dueAt;
+    }
+
+    /**
+     * Rebuilds the invoice this approval was raised for.
+     */
+    public Invoice toInvoice() {
+        return new Invoice(amountMinor, currency, department, requiresManagerApproval);
+    }
+
+    @Override
+    public String toString() {
+        return "PendingApproval{" +
+                "id=" + id +
+                ", ruleId='" + ruleId + '\'' +
+                ", approverRole=" + approverRole +
+                ", channel=" + channel +
+                ", state=" + state +
+                '}';
+    }
+}
@@ -0,0 +1,436 @@
+package org.light.challenge.approval;
+
+import org.light.challenge.model.ApprovalAction;
+import org.light.challenge.model.ApproverRole;
+import org.light.challenge.model.Invoice;
+import org.light.challenge.model.NotificationChannel;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Off-heap table of approval requests waiting on an approver.
+ *
+ * Records have a fixed 64-byte layout in a single direct or memory-mapped
+ * buffer, so millions of open approvals cost the garbage collector nothing.
+ * Departments, rule IDs and currency codes are interned to int codes via {@link SymbolTable},
+ * and lookups by approval ID go through an off-heap {@link LongIntIndex}.
+ * Open approvals are also indexed by department, manager flag and amount
+ * ({@link OpenApprovalIndex}) so rule changes can find the ones they affect.
+ *
+ * Record layout:
+ * <pre>
+ *  0  id            long   (0 = slot never used)
+ *  8  amountMinor   long   (see Money)
+ * 16  createdAt     long   (epoch millis)
+ * 24  updatedAt     long   (epoch millis)
+ * 32  department    int    (symbol code)
+ * 36  ruleId        int    (symbol code)
+ * 40  approverRole  byte   (ordinal)
+ * 41  channel       byte   (ordinal)
+ * 42  state         byte   (ordinal)
+ * 43  managerFlag   byte
+ * 44  nextFree      int    (free-list link, -1 if none)
+ * 48  dueAt         long   (next escalation timer, 0 if none)
+ * 56  currency      int    (symbol code)
+ * 60  reserved
+ * </pre>
+ *
+ * Closed (approved/rejected) records stay readable until the table fills up,
+ * after which their slots are recycled oldest-closed first.
+ */
+public class PendingApprovalStore implements Closeable {
+    private static final int MAGIC = 0x50415331; // "PAS1"
+    private static final int VERSION = 3;
+
+    private static final int HEADER_SIZE = 64;
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 4;
+    private static final int H_CAPACITY = 8;
+    private static final int H_HIGH_WATER = 12;
+    private static final int H_NEXT_ID = 16;
+    private static final int H_FREE_HEAD = 24;
+    private static final int H_FREE_TAIL = 28;
+    private static final int H_OPEN_COUNT = 32;
+
+    private static final int RECORD_SIZE = 64;
+    private static final int R_ID = 0;
+    private static final int R_AMOUNT_MINOR = 8;
+    private static final int R_CREATED_AT = 16;
+    private static final int R_UPDATED_AT = 24;
+    private static final int R_DEPARTMENT = 32;
+    private static final int R_RULE = 36;
+    private static final int R_ROLE = 40;
+    private static final int R_CHANNEL = 41;
+    private static final int R_STATE = 42;
+    private static final int R_MANAGER_FLAG = 43;
+    private static final int R_NEXT_FREE = 44;
+    private static final int R_DUE_AT = 48;
+    private static final int R_CURRENCY = 56;
+
+    /** Upper bound that keeps every record addressable by an int offset. */
+    public static final int MAX_CAPACITY = (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE;
+
+    private static final ApproverRole[] ROLES = ApproverRole.values();
+    private static final NotificationChannel[] CHANNELS = NotificationChannel.values();
+    private static final ApprovalState[] STATES = ApprovalState.values();
+
+    private final ByteBuffer table;
+    private final FileChannel file;
+    private final SymbolTable symbols;
+    private final LongIntIndex index;
+    private final OpenApprovalIndex openIndex;
+    private final int capacity;
+
+    private PendingApprovalStore(ByteBuffer table, FileChannel file, SymbolTable symbols, int capacity) {
+        this.table = table;
+        this.file = file;
+        this.symbols = symbols;
+        this.capacity = capacity;
+        this.index = new LongIntIndex(capacity);
+        this.openIndex = new OpenApprovalIndex(capacity);
+    }
+
+    /**
+     * Creates a store in direct (off-heap) memory. Contents are lost on shutdown.
+     */
+    public static PendingApprovalStore inMemory(int capacity) {
+        checkCapacity(capacity);
+        ByteBuffer table = ByteBuffer.allocateDirect(HEADER_SIZE + capacity * RECORD_SIZE)
+                .order(ByteOrder.nativeOrder());
+        PendingApprovalStore store = new PendingApprovalStore(table, null, new SymbolTable(), capacity);
+        store.format();
+        return store;
+    }
+
+    /**
+     * Opens (or creates) a store memory-mapped onto the given file.
+     * Existing records are re-indexed, so approvals survive a restart.
+     * Interned symbols are kept next to it in {@code <file>.symbols}.
+     */
+    public static PendingApprovalStore mapped(Path path, int capacity) throws IOException {
+        checkCapacity(capacity);
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        boolean fresh = channel.size() == 0;
+        MappedByteBuffer table = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                HEADER_SIZE + (long) capacity * RECORD_SIZE);
+        table.order(ByteOrder.nativeOrder());
+        SymbolTable symbols = new SymbolTable(Paths.get(path.toString() + ".symbols"));
+
+        PendingApprovalStore store = new PendingApprovalStore(table, channel, symbols, capacity);
+        if (fresh) {
+            store.format();
+        } else {
+            store.verifyHeader();
+            store.rebuildIndex();
+        }
+        return store;
+    }
+
+    private static void checkCapacity(int capacity) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException(
+                "Capacity must be between 1 and " + MAX_CAPACITY + ", was " + capacity);
+        }
+    }
+
+    /**
+     * Records a new pending approval for the invoice and the rule that matched it.
+     *
+     * @return the generated approval ID
+     * @throws IllegalStateException if every slot holds an open approval
+     */
+    public synchronized long create(Invoice invoice, String ruleId, ApprovalAction action) {
+        int slot = allocateSlot();
+        long id = table.getLong(H_NEXT_ID);
+        table.putLong(H_NEXT_ID, id + 1);
+
+        long now = System.currentTimeMillis();
+        int base = offset(slot);
+        table.putLong(base + R_ID, id);
+        table.putLong(base + R_AMOUNT_MINOR, invoice.getAmountMinor());
+        table.putLong(base + R_CREATED_AT, now);
+        table.putLong(base + R_UPDATED_AT, now);
+        table.putInt(base + R_DEPARTMENT, symbols.codeOf(invoice.getDepartment()));
+        table.putInt(base + R_RULE, symbols.codeOf(ruleId));
+        table.put(base + R_ROLE, (byte) action.getApproverRole().ordinal());
+        table.put(base + R_CHANNEL, (byte) action.getChannel().ordinal());
+        table.put(base + R_STATE, (byte) ApprovalState.PENDING.ordinal());
+        table.put(base + R_MANAGER_FLAG, (byte) (invoice.isRequiresManagerApproval() ? 1 : 0));
+        table.putInt(base + R_NEXT_FREE, -1);
+        table.putLong(base + R_DUE_AT, 0L);
+        table.putInt(base + R_CURRENCY, symbols.codeOf(invoice.getCurrency()));
+
+        index.put(id, slot);
+        indexOpen(slot);
+        table.putInt(H_OPEN_COUNT, table.getInt(H_OPEN_COUNT) + 1);
+        return id;
+    }
+
+    /**
+     * Returns the approval with the given ID, if it is still held by the store.
+     */
+    public synchronized Optional<PendingApproval> get(long id) {
+        int slot = index.get(id);
+        return slot < 0 ? Optional.empty() : Optional.of(read(slot));
+    }
+
+    /**
+     * Applies an approver's decision to an open approval.
+     *
+     * @param decision APPROVED or REJECTED
+     * @return the updated approval, or empty if the ID is unknown
+     * @throws IllegalStateException if the approval has already been decided
+     */
+    public synchronized Optional<PendingApproval> resolve(long id, ApprovalState decision) {
+        if (decision.isOpen()) {
+            throw new IllegalArgumentException("Not a final decision: " + decision);
+        }
+        int slot = index.get(id);
+        if (slot < 0) {
+            return Optional.empty();
+        }
+        int base = offset(slot);
+        ApprovalState current = STATES[table.get(base + R_STATE)];
+        if (!current.isOpen()) {
+            throw new IllegalStateException("Approval " + id + " is already " + current);
+        }
+        openIndex.remove(slot, table.getInt(base + R_DEPARTMENT), table.get(base + R_MANAGER_FLAG) != 0,
+                table.getLong(base + R_AMOUNT_MINOR));
+        table.put(base + R_STATE, (byte) decision.ordinal());
+        table.putLong(base + R_UPDATED_AT, System.currentTimeMillis());
+        table.putLong(base + R_DUE_AT, 0L);
+        table.putInt(H_OPEN_COUNT, table.getInt(H_OPEN_COUNT) - 1);
+        pushFree(slot);
+        return Optional.of(read(slot));
+    }
+
+    /**
+     * Hands an open approval over to a new approver and marks it ESCALATED.
+     *
+     * @return the updated approval, or empty if the ID is unknown or no longer open
+     */
+    public synchronized Optional<PendingApproval> escalate(long id, ApproverRole escalateTo) {
+        int slot = openSlot(id);
+        if (slot < 0) {
+            return Optional.empty();
+        }
+        int base = offset(slot);
+        table.put(base + R_ROLE, (byte) escalateTo.ordinal());
+        table.put(base + R_STATE, (byte) ApprovalState.ESCALATED.ordinal());
+        table.putLong(base + R_UPDATED_AT, System.currentTimeMillis());
+        return Optional.of(read(slot));
+    }
+
+    /**
+     * Routes an open approval to a different rule and approver, e.g. after a
+     * rule change, and puts it back to PENDING. Any escalation due time is cleared.
+     *
+     * @return the updated approval, or empty if the ID is unknown or no longer open
+     */
+    public synchronized Optional<PendingApproval> reroute(long id, String ruleId, ApprovalAction action) {
+        int slot = openSlot(id);
+        if (slot < 0) {
+            return Optional.empty();
+        }
+        int base = offset(slot);
+        table.putInt(base + R_RULE, symbols.codeOf(ruleId));
+        table.put(base + R_ROLE, (byte) action.getApproverRole().ordinal());
+        table.put(base + R_CHANNEL, (byte) action.getChannel().ordinal());
+        table.put(base + R_STATE, (byte) ApprovalState.PENDING.ordinal());
+        table.putLong(base + R_UPDATED_AT, System.currentTimeMillis());
+        table.putLong(base + R_DUE_AT, 0L);
+        return Optional.of(read(slot));
+    }
+
+    /**
+     * Returns the IDs of open approvals in the given department (ignoring
+     * case; null for any), with the given manager flag (null for either) and
+     * an amount within {@code [minAmountMinor, maxAmountMinor]}. Only
+     * approvals in matching index buckets are read.
+     */
+    public synchronized long[] findOpen(String department, Boolean managerFlag,
+                                        long minAmountMinor, long maxAmountMinor) {
+        long[][] found = {new long[16]};
+        int[] count = {0};
+        openIndex.forEachCandidate(
+            code -> department == null || department.equalsIgnoreCase(symbols.symbolOf(code)),
+            managerFlag, minAmountMinor, maxAmountMinor,
+            slot -> {
+                long amount = table.getLong(offset(slot) + R_AMOUNT_MINOR);
+                if (amount < minAmountMinor || amount > maxAmountMinor) {
+                    return;
+                }
+                if (count[0] == found[0].length) {
+                    found[0] = Arrays.copyOf(found[0], count[0] * 2);
+                }
+                found[0][count[0]++] = table.getLong(offset(slot) + R_ID);
+            });
+        return Arrays.copyOf(found[0], count[0]);
+    }
+
+    /**
+     * Persists when the next escalation timer for an open approval is due,
+     * so timers can be rebuilt after a restart.
+     *
+     * @param dueAt epoch millis, or 0 to clear
+     */
+    public synchronized void setDueAt(long id, long dueAt) {
+        int slot = openSlot(id);
+        if (slot >= 0) {
+            table.putLong(offset(slot) + R_DUE_AT, dueAt);
+        }
+    }
+
+    /**
+     * Visits every open approval, in slot order.
+     * Holds the store lock for the duration, so keep the consumer cheap.
+     */
+    public synchronized void forEachOpen(Consumer<PendingApproval> consumer) {
+        int highWater = table.getInt(H_HIGH_WATER);
+        for (int slot = 0; slot < highWater; slot++) {
+            if (STATES[table.get(offset(slot) + R_STATE)].isOpen()) {
+                consumer.accept(read(slot));
+            }
+        }
+    }
+
+    /**
+     * Returns the number of approvals still waiting on an approver.
+     */
+    public synchronized int openCount() {
+        return table.getInt(H_OPEN_COUNT);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Flushes a memory-mapped store to disk. No-op for in-memory stores.
+     */
+    public synchronized void sync() {
+        if (table instanceof MappedByteBuffer) {
+            ((MappedByteBuffer) table).force();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        sync();
+        symbols.close();
+        if (file != null) {
+            file.close();
+        }
+    }
+
+    private PendingApproval read(int slot) {
+        int base = offset(slot);
+        return new PendingApproval(
+            table.getLong(base + R_ID),
+            table.getLong(base + R_AMOUNT_MINOR),
+            symbols.symbolOf(table.getInt(base + R_CURRENCY)),
+            symbols.symbolOf(table.getInt(base + R_DEPARTMENT)),
+            table.get(base + R_MANAGER_FLAG) != 0,
+            symbols.symbolOf(table.getInt(base + R_RULE)),
+            ROLES[table.get(base + R_ROLE)],
+            CHANNELS[table.get(base + R_CHANNEL)],
+            STATES[table.get(base + R_STATE)],
+            table.getLong(base + R_CREATED_AT),
+            table.getLong(base + R_UPDATED_AT),
+            table.getLong(base + R_DUE_AT)
+        );
+    }
+
+    private int openSlot(long id) {
+        int slot = index.get(id);
+        if (slot < 0 || !STATES[table.get(offset(slot) + R_STATE)].isOpen()) {
+            return -1;
+        }
+        return slot;
+    }
+
+    private int allocateSlot() {
+        int highWater = table.getInt(H_HIGH_WATER);
+        if (highWater < capacity) {
+            table.putInt(H_HIGH_WATER, highWater + 1);
+            return highWater;
+        }
+        int slot = table.getInt(H_FREE_HEAD);
+        if (slot < 0) {
+            throw new IllegalStateException(
+                "Pending approval store is full (" + capacity + " open approvals)");
+        }
+        int next = table.getInt(offset(slot) + R_NEXT_FREE);
+        table.putInt(H_FREE_HEAD, next);
+        if (next < 0) {
+            table.putInt(H_FREE_TAIL, -1);
+        }
+        index.remove(table.getLong(offset(slot) + R_ID));
+        return slot;
+    }
+
+    private void pushFree(int slot) {
+        table.putInt(offset(slot) + R_NEXT_FREE, -1);
+        int tail = table.getInt(H_FREE_TAIL);
+        if (tail < 0) {
+            table.putInt(H_FREE_HEAD, slot);
+        } else {
+            table.putInt(offset(tail) + R_NEXT_FREE, slot);
+        }
+        table.putInt(H_FREE_TAIL, slot);
+    }
+
+    private void format() {
+        table.putInt(H_MAGIC, MAGIC);
+        table.putInt(H_VERSION, VERSION);
+        table.putInt(H_CAPACITY, capacity);
+        table.putInt(H_HIGH_WATER, 0);
+        table.putLong(H_NEXT_ID, 1L);
+        table.putInt(H_FREE_HEAD, -1);
+        table.putInt(H_FREE_TAIL, -1);
+        table.putInt(H_OPEN_COUNT, 0);
+    }
+
+    private void verifyHeader() throws IOException {
+        if (table.getInt(H_MAGIC) != MAGIC || table.getInt(H_VERSION) != VERSION) {
+            throw new IOException("Not a pending approval store (or unsupported version)");
+        }
+        int stored = table.getInt(H_CAPACITY);
+        if (stored != capacity) {
+            throw new IOException("Store was created with capacity " + stored
+                + " but opened with " + capacity);
+        }
+    }
+
+    private void rebuildIndex() {
+        int highWater = table.getInt(H_HIGH_WATER);
+        for (int slot = 0; slot < highWater; slot++) {
+            index.put(table.getLong(offset(slot) + R_ID), slot);
+            if (STATES[table.get(offset(slot) + R_STATE)].isOpen()) {
+                indexOpen(slot);
+            }
+        }
+    }
+
+    private void indexOpen(int slot) {
+        int base = offset(slot);
+        openIndex.add(slot, table.getInt(base + R_DEPARTMENT), table.get(base + R_MANAGER_FLAG) != 0,
+                table.getLong(base + R_AMOUNT_MINOR));
+    }
+
+    private static int offset(int slot) {
+        return HEADER_SIZE + slot * RECORD_SIZE;
+    }
+}
@@ -0,0 +1,59 @@
+package org.light.challenge.approval;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.lifecycle.Managed;
+import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Configuration for the pending approval store.
+ *
+ * If {@code file} is set the store is memory-mapped onto it and survives
+ * restarts; otherwise it lives in direct memory only.
+ */
+public class PendingApprovalStoreFactory {
+    @JsonProperty("file")
+    private String file;
+
+    @JsonProperty("capacity")
+    private int capacity = 1_000_000;
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Opens the store and registers it to be flushed and closed on shutdown.
+     */
+    public PendingApprovalStore build(LifecycleEnvironment lifecycle) throws IOException {
+        final PendingApprovalStore store = file == null
+                ? PendingApprovalStore.inMemory(capacity)
+                : PendingApprovalStore.mapped(Paths.get(file), capacity);
+
+        lifecycle.manage(new Managed() {
+            @Override
+            public void start() {
+            }
+
+            @Override
+            public void stop() throws Exception {
+                store.close();
+            }
+        });
+        return store;
+    }
+}
@@ -0,0 +1,90 @@
+package org.light.challenge.approval;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interns the low-cardinality strings (departments, rule IDs) referenced by
+ * approval records so each record only stores a fixed-width int code.
+ * When backed by a file, new symbols are appended so codes survive a restart.
+ */
+class SymbolTable implements Closeable {
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> symbols = new ArrayList<>();
+    private final DataOutputStream journal;
+
+    /**
+     * Creates a purely in-memory symbol table.
+     */
+    SymbolTable() {
+        this.journal = null;
+    }
+
+    /**
+     * Opens (or creates) a symbol table journaled to the given file.
+     */
+    SymbolTable(Path file) throws IOException {
+        if (Files.exists(file)) {
+            try (DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(Files.newInputStream(file)))) {
+                while (true) {
+                    String symbol;
+                    try {
+                        symbol = in.readUTF();
+                    } catch (EOFException e) {
+                        break;
+                    }
+                    register(symbol);
+                }
+            }
+        }
+        this.journal = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+    }
+
+    /**
+     * Returns the code for the symbol, assigning a new one if needed.
+     */
+    synchronized int codeOf(String symbol) {
+        Integer code = codes.get(symbol);
+        if (code != null) {
+            return code;
+        }
+        if (journal != null) {
+            try {
+                journal.writeUTF(symbol);
+                journal.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to journal symbol: " + symbol, e);
+            }
+        }
+        return register(symbol);
+    }
+
+    /**
+     * Returns the symbol for a previously assigned code.
+     */
+    synchronized String symbolOf(int code) {
+        return symbols.get(code);
+    }
+
+    private int register(String symbol) {
+        int code = symbols.size();
+        symbols.add(symbol);
+        codes.put(symbol, code);
+        return code;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+}
@@ -1,27 +1,40 @@
 package org.light.challenge.condition;
 
 import org.light.challenge.model.Invoice;
+import org.light.challenge.model.Money;
 
 /**
  * Condition that evaluates invoice amount against a threshold.
+ * Both sides are minor units (see {@link Money}), so the comparison is exact.
  */
 public class AmountCondition implements Condition {
     private final ComparisonOperator operator;
-    private final double threshold;
+    private final long thresholdMinor;
 
-    public AmountCondition(ComparisonOperator operator, double threshold) {
+    /**
+     * @param thresholdMinor threshold in minor units, e.g. {@code Money.ofMajor(10000)}
+     */
+    public AmountCondition(ComparisonOperator operator, long thresholdMinor) {
         this.operator = operator;
-        this.threshold = threshold;
+        this.thresholdMinor = thresholdMinor;
+    }
+
+    public ComparisonOperator getOperator() {
+        return operator;
+    }
+
+    public long getThresholdMinor() {
+        return thresholdMinor;
     }
 
     @Override
     public boolean evaluate(Invoice invoice) {
-        return operator.compare(invoice.getAmount(), threshold);
+        return operator.compare(invoice.getAmountMinor(), thresholdMinor);
     }
 
     @Override
     public String getDescription() {
-        return String.format("Amount %s %.2f", operator.getSymbol(), threshold);
+        return String.format("Amount %s %s", operator.getSymbol(), Money.format(thresholdMinor));
     }
 
     @Override
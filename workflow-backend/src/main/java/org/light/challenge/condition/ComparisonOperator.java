@@ -22,9 +22,9 @@ public enum ComparisonOperator {
     }
 
     /**
-     * Compares two double values using this operator.
+     * Compares two fixed-point values (e.g. amounts in minor units) using this operator.
      */
-    public boolean compare(double value1, double value2) {
+    public boolean compare(long value1, long value2) {
         switch (this) {
             case GREATER_THAN:
                 return value1 > value2;
@@ -35,9 +35,9 @@ public enum ComparisonOperator {
             case LESS_THAN_OR_EQUAL:
                 return value1 <= value2;
             case EQUAL:
-                return Math.abs(value1 - value2) < 0.001; // Handle floating point comparison
+                return value1 == value2;
             case NOT_EQUAL:
-                return Math.abs(value1 - value2) >= 0.001;
+                return value1 != value2;
             default:
                 throw new IllegalStateException("Unknown operator: " + this);
         }
@@ -0,0 +1,29 @@
+package org.light.challenge.condition;
+
+/**
+ * The built-in condition kinds, named as in the rule_conditions table.
+ * Used wherever rules are serialized (snapshots, the rule API).
+ */
+public enum ConditionType {
+    AMOUNT_COMPARISON,
+    DEPARTMENT_EQUALS,
+    MANAGER_APPROVAL_REQUIRED;
+
+    /**
+     * Returns the type of a built-in condition.
+     *
+     * @throws IllegalArgumentException for custom condition implementations
+     */
+    public static ConditionType of(Condition condition) {
+        if (condition instanceof AmountCondition) {
+            return AMOUNT_COMPARISON;
+        }
+        if (condition instanceof DepartmentCondition) {
+            return DEPARTMENT_EQUALS;
+        }
+        if (condition instanceof ManagerApprovalCondition) {
+            return MANAGER_APPROVAL_REQUIRED;
+        }
+        throw new IllegalArgumentException("Unsupported condition type: " + condition.getClass().getName());
+    }
+}
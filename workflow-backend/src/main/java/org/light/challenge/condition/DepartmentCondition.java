@@ -12,6 +12,10 @@ public class DepartmentCondition implements Condition {
         this.expectedDepartment = expectedDepartment;
     }
 
+    public String getExpectedDepartment() {
+        return expectedDepartment;
+    }
+
     @Override
     public boolean evaluate(Invoice invoice) {
         if (invoice.getDepartment() == null) {
@@ -12,6 +12,10 @@ public class ManagerApprovalCondition implements Condition {
         this.expectedValue = expectedValue;
     }
 
+    public boolean getExpectedValue() {
+        return expectedValue;
+    }
+
     @Override
     public boolean evaluate(Invoice invoice) {
         return invoice.isRequiresManagerApproval() == expectedValue;
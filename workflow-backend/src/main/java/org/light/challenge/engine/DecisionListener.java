@@ -0,0 +1,13 @@
+package org.light.challenge.engine;
+
+import org.light.challenge.model.Invoice;
+import org.light.challenge.model.WorkflowRule;
+
+/**
+ * Receives every routing decision made by the {@link WorkflowEngine}.
+ * Called on the evaluating thread, so implementations must be thread-safe
+ * and cheap.
+ */
+public interface DecisionListener {
+    void onDecision(Invoice invoice, WorkflowRule rule);
+}
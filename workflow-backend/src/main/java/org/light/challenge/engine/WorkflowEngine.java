@@ -1,12 +1,17 @@
 package org.light.challenge.engine;
 
+import org.light.challenge.jfr.RuleEvaluationEvent;
 import org.light.challenge.model.ApprovalAction;
 import org.light.challenge.model.Invoice;
 import org.light.challenge.model.WorkflowRule;
+import org.light.challenge.repository.RuleSet;
 import org.light.challenge.repository.WorkflowRepository;
 
+import jdk.jfr.EventType;
+
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 /**
@@ -14,10 +19,31 @@ import java.util.stream.Collectors;
  * Follows the Rule Engine pattern for dynamic, configurable workflows.
  */
 public class WorkflowEngine {
+    private static final EventType EVALUATION_EVENT = EventType.getEventType(RuleEvaluationEvent.class);
+
     private final WorkflowRepository repository;
+    private final boolean trace;
+    private final List<DecisionListener> listeners = new CopyOnWriteArrayList<>();
 
     public WorkflowEngine(WorkflowRepository repository) {
+        this(repository, true);
+    }
+
+    /**
+     * @param trace whether to print each rule check to the console; turn off
+     *              for bulk evaluation such as replays
+     */
+    public WorkflowEngine(WorkflowRepository repository, boolean trace) {
         this.repository = repository;
+        this.trace = trace;
+    }
+
+    /**
+     * Registers a listener that is told about every decision made by
+     * {@link #matchRule}. Simulations via {@link #findMatchingRule} are not reported.
+     */
+    public void addDecisionListener(DecisionListener listener) {
+        listeners.add(listener);
     }
 
     /**
@@ -29,13 +55,58 @@ public class WorkflowEngine {
      * @throws WorkflowException if no matching rule is found
      */
     public ApprovalAction evaluateWorkflow(Invoice invoice) throws WorkflowException {
+        return matchRule(invoice).getAction();
+    }
+
+    /**
+     * Finds the first rule, in priority order, that matches the given invoice.
+     *
+     * @param invoice The invoice to evaluate
+     * @return The matching rule
+     * @throws WorkflowException if no matching rule is found
+     */
+    public WorkflowRule matchRule(Invoice invoice) throws WorkflowException {
+        // The event is only allocated while a recording has it enabled; its
+        // threshold is then applied by shouldCommit
+        RuleEvaluationEvent event = EVALUATION_EVENT.isEnabled() ? new RuleEvaluationEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        // Scan one published rule set so the recorded version and count describe the rules evaluated
+        RuleSet ruleSet = repository.snapshot();
+        List<WorkflowRule> rules = ruleSet.getRules();
+        int matched = -1;
+        try {
+            matched = trace ? traceMatch(rules, invoice) : indexOfMatch(rules, invoice);
+        } finally {
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.ruleSetVersion = ruleSet.getVersion();
+                    // First match wins, so the scan stopped at the match or covered every rule
+                    event.rulesScanned = matched < 0 ? rules.size() : matched + 1;
+                    event.matchedRuleId = matched < 0 ? null : rules.get(matched).getId();
+                    event.commit();
+                }
+            }
+        }
+        if (matched < 0) {
+            throw new WorkflowException("No matching workflow rule found for invoice: " + invoice);
+        }
+        WorkflowRule rule = rules.get(matched);
+        for (DecisionListener listener : listeners) {
+            listener.onDecision(invoice, rule);
+        }
+        return rule;
+    }
+
+    private int traceMatch(List<WorkflowRule> rules, Invoice invoice) {
         System.out.println("=== Evaluating Workflow ===");
         System.out.println("Invoice: " + invoice);
         System.out.println();
 
-        List<WorkflowRule> rules = repository.getRulesByPriority();
-        
-        for (WorkflowRule rule : rules) {
+        for (int i = 0; i < rules.size(); i++) {
+            WorkflowRule rule = rules.get(i);
             System.out.println("Checking Rule: " + rule.getDescription());
             System.out.println("  Conditions: " + 
                 rule.getConditions().stream()
@@ -46,14 +117,32 @@ public class WorkflowEngine {
                 System.out.println("  ✓ MATCH FOUND!");
                 System.out.println("  Action: " + rule.getAction());
                 System.out.println();
-                return rule.getAction();
+                return i;
             } else {
                 System.out.println("  ✗ No match");
                 System.out.println();
             }
         }
+        return -1;
+    }
 
-        throw new WorkflowException("No matching workflow rule found for invoice: " + invoice);
+    /**
+     * Finds the first matching rule without tracing or throwing,
+     * for callers that treat "no match" as an ordinary outcome.
+     */
+    public Optional<WorkflowRule> findMatchingRule(Invoice invoice) {
+        List<WorkflowRule> rules = repository.rulesInPriorityOrder();
+        int matched = indexOfMatch(rules, invoice);
+        return matched < 0 ? Optional.empty() : Optional.of(rules.get(matched));
+    }
+
+    private static int indexOfMatch(List<WorkflowRule> rules, Invoice invoice) {
+        for (int i = 0; i < rules.size(); i++) {
+            if (rules.get(i).matches(invoice)) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     /**
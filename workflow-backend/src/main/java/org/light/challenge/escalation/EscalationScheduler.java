@@ -0,0 +1,199 @@
+package org.light.challenge.escalation;
+
+import io.dropwizard.lifecycle.Managed;
+import org.light.challenge.approval.ApprovalState;
+import org.light.challenge.approval.PendingApproval;
+import org.light.challenge.approval.PendingApprovalStore;
+import org.light.challenge.model.ApprovalAction;
+import org.light.challenge.model.ApproverRole;
+import org.light.challenge.model.EscalationPolicy;
+import org.light.challenge.model.WorkflowRule;
+import org.light.challenge.notification.NotificationDispatcher;
+import org.light.challenge.repository.WorkflowRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends reminders and escalates unanswered approvals according to each
+ * rule's {@link EscalationPolicy}.
+ *
+ * Timers live in a {@link HierarchicalTimingWheel} driven by a single ticker
+ * thread. The next due time of every approval is also written to the
+ * {@link PendingApprovalStore}, so on start-up the timers are rebuilt from
+ * the store rather than lost.
+ */
+public class EscalationScheduler implements Managed {
+    private final PendingApprovalStore approvals;
+    private final WorkflowRepository repository;
+    private final NotificationDispatcher notifications;
+    private final HierarchicalTimingWheel wheel;
+    private final ConcurrentHashMap<Long, TimerEntry> timers = new ConcurrentHashMap<>();
+    private final Queue<TimerEntry> overdue = new ConcurrentLinkedQueue<>();
+    private ScheduledExecutorService ticker;
+
+    public EscalationScheduler(PendingApprovalStore approvals, WorkflowRepository repository,
+                               NotificationDispatcher notifications, long tickMs, int wheelSize) {
+        this.approvals = approvals;
+        this.repository = repository;
+        this.notifications = notifications;
+        this.wheel = new HierarchicalTimingWheel(tickMs, wheelSize, System.currentTimeMillis());
+    }
+
+    /**
+     * Starts the escalation clock for a newly created approval.
+     */
+    public void track(long approvalId, WorkflowRule rule) {
+        Optional<EscalationPolicy> policy = rule.getEscalation();
+        if (!policy.isPresent()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long dueAt = policy.get().nextDueAt(now, false, now);
+        approvals.setDueAt(approvalId, dueAt);
+        schedule(approvalId, dueAt);
+    }
+
+    /**
+     * Stops all reminders and escalation for an approval that has been decided.
+     */
+    public void cancel(long approvalId) {
+        TimerEntry entry = timers.remove(approvalId);
+        if (entry != null) {
+            wheel.cancel(entry);
+        }
+    }
+
+    /**
+     * Rebuilds timers for every open approval from its persisted due time.
+     *
+     * @return the number of timers restored
+     */
+    public int recover() {
+        int[] restored = {0};
+        approvals.forEachOpen(approval -> {
+            if (approval.getDueAt() > 0) {
+                schedule(approval.getId(), approval.getDueAt());
+                restored[0]++;
+            }
+        });
+        return restored[0];
+    }
+
+    /**
+     * Returns the number of approvals with a pending timer.
+     */
+    public int scheduledCount() {
+        return timers.size();
+    }
+
+    @Override
+    public void start() {
+        int restored = recover();
+        System.out.println("Restored " + restored + " escalation timers");
+
+        long tickMs = wheel.getTickMs();
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "escalation-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() throws Exception {
+        if (ticker != null) {
+            ticker.shutdown();
+            ticker.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Advances the wheel to the current time and handles every timer that fell due.
+     */
+    void tick() {
+        TimerEntry entry;
+        while ((entry = overdue.poll()) != null) {
+            fireIfCurrent(entry);
+        }
+        List<TimerEntry> expired = wheel.advance(System.currentTimeMillis());
+        for (TimerEntry due : expired) {
+            fireIfCurrent(due);
+        }
+    }
+
+    private void schedule(long approvalId, long dueAt) {
+        TimerEntry entry = new TimerEntry(approvalId, dueAt);
+        TimerEntry previous = timers.put(approvalId, entry);
+        if (previous != null) {
+            wheel.cancel(previous);
+        }
+        if (!wheel.add(entry)) {
+            overdue.add(entry);
+        }
+    }
+
+    private void fireIfCurrent(TimerEntry entry) {
+        // Skip entries that were cancelled or replaced after they fell due
+        if (!timers.remove(entry.getKey(), entry)) {
+            return;
+        }
+        try {
+            fire(entry.getKey());
+        } catch (RuntimeException e) {
+            // Never let one approval stop the ticker
+            System.err.println("Escalation failed for approval " + entry.getKey() + ": " + e.getMessage());
+        }
+    }
+
+    private void fire(long approvalId) {
+        Optional<PendingApproval> found = approvals.get(approvalId);
+        if (!found.isPresent() || !found.get().getState().isOpen()) {
+            return;
+        }
+        PendingApproval approval = found.get();
+        Optional<WorkflowRule> rule = repository.getRuleById(approval.getRuleId());
+        Optional<EscalationPolicy> policy = rule.flatMap(WorkflowRule::getEscalation);
+        if (!policy.isPresent()) {
+            approvals.setDueAt(approvalId, 0L);
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        String message = rule.get().getAction().getMessage();
+        boolean escalated = approval.getState() == ApprovalState.ESCALATED;
+        Optional<ApproverRole> escalateTo = policy.get().getEscalateTo();
+
+        if (!escalated && escalateTo.isPresent()
+                && now >= approval.getCreatedAt() + policy.get().getEscalateAfter().toMillis()) {
+            ApproverRole from = approval.getApproverRole();
+            Optional<PendingApproval> updated = approvals.escalate(approvalId, escalateTo.get());
+            if (!updated.isPresent()) {
+                return;
+            }
+            approval = updated.get();
+            escalated = true;
+            notifications.dispatch(new ApprovalAction(approval.getApproverRole(), approval.getChannel(), String.format(
+                "Escalated from %s after no response: %s (approval %d)",
+                from.getDisplayName(), message, approvalId
+            )));
+        } else {
+            notifications.dispatch(new ApprovalAction(approval.getApproverRole(), approval.getChannel(), String.format(
+                "Reminder: %s (approval %d)", message, approvalId
+            )));
+        }
+
+        long next = policy.get().nextDueAt(approval.getCreatedAt(), escalated, now);
+        approvals.setDueAt(approvalId, next);
+        if (next > 0) {
+            schedule(approvalId, next);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.light.challenge.escalation;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
+import org.light.challenge.approval.PendingApprovalStore;
+import org.light.challenge.notification.NotificationDispatcher;
+import org.light.challenge.repository.WorkflowRepository;
+
+/**
+ * Configuration for the escalation scheduler's timing wheel.
+ * With the defaults, level 0 spans 512 seconds at one-second resolution.
+ */
+public class EscalationSchedulerFactory {
+    @JsonProperty("tickMillis")
+    private long tickMillis = 1000;
+
+    @JsonProperty("wheelSize")
+    private int wheelSize = 512;
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    public void setTickMillis(long tickMillis) {
+        this.tickMillis = tickMillis;
+    }
+
+    public int getWheelSize() {
+        return wheelSize;
+    }
+
+    public void setWheelSize(int wheelSize) {
+        this.wheelSize = wheelSize;
+    }
+
+    /**
+     * Creates the scheduler and registers it so its timers are restored on start.
+     */
+    public EscalationScheduler build(PendingApprovalStore approvals, WorkflowRepository repository,
+                                     NotificationDispatcher notifications, LifecycleEnvironment lifecycle) {
+        EscalationScheduler scheduler =
+                new EscalationScheduler(approvals, repository, notifications, tickMillis, wheelSize);
+        lifecycle.manage(scheduler);
+        return scheduler;
+    }
+}
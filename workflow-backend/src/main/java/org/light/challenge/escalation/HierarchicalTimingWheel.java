@@ -0,0 +1,155 @@
+package org.light.challenge.escalation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel (Varghese &amp; Lauck) for very large numbers of
+ * long-lived timers.
+ *
+ * Level 0 has {@code wheelSize} buckets of {@code tickMs} each; every level
+ * above it covers {@code wheelSize} times the span of the one below.
+ * Levels are added lazily as far-out timers arrive. Insert and cancel are
+ * O(1); advancing the clock cascades a higher-level bucket down only when
+ * the lower wheel completes a rotation.
+ *
+ * A timer fires on the first tick at or after its expiration, never early.
+ * The wheel holds no threads of its own; the owner drives it by calling
+ * {@link #advance(long)}.
+ */
+public class HierarchicalTimingWheel {
+    private static final int MAX_LEVELS = 8;
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<TimerBucket[]> levels = new ArrayList<>();
+    private final long[] levelTicks = new long[MAX_LEVELS];
+    private long currentTime;
+    private int size;
+
+    /**
+     * @param tickMs    resolution of the wheel in milliseconds
+     * @param wheelSize number of buckets per level
+     * @param startMs   current time in epoch millis
+     */
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMs must be positive and wheelSize at least 2");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMs - startMs % tickMs;
+        addLevel();
+    }
+
+    /**
+     * Schedules the entry.
+     *
+     * @return false if the entry is already due, in which case it is not held
+     *         by the wheel and the caller should run it now
+     */
+    public synchronized boolean add(TimerEntry entry) {
+        if (entry.bucket != null) {
+            throw new IllegalStateException("Entry is already scheduled: " + entry);
+        }
+        if (!insert(entry)) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * Removes the entry if it is still waiting. Safe to call more than once.
+     *
+     * @return true if the entry was removed
+     */
+    public synchronized boolean cancel(TimerEntry entry) {
+        if (entry.bucket == null) {
+            return false;
+        }
+        entry.bucket.remove(entry);
+        size--;
+        return true;
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMs}, returning every entry that
+     * fell due on the way, in expiration order by tick.
+     */
+    public synchronized List<TimerEntry> advance(long nowMs) {
+        List<TimerEntry> expired = new ArrayList<>();
+        while (currentTime + tickMs <= nowMs) {
+            currentTime += tickMs;
+
+            // Cascade higher-level buckets that start at this tick down the hierarchy
+            for (int level = levels.size() - 1; level >= 1; level--) {
+                long levelTick = levelTicks[level];
+                if (currentTime % levelTick == 0) {
+                    bucketFor(level, currentTime).drain(entry -> {
+                        if (!insert(entry)) {
+                            expired.add(entry);
+                        }
+                    });
+                }
+            }
+            bucketFor(0, currentTime).drain(expired::add);
+        }
+        size -= expired.size();
+        return expired;
+    }
+
+    /**
+     * Returns the number of entries waiting in the wheel.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    public long getTickMs() {
+        return tickMs;
+    }
+
+    private boolean insert(TimerEntry entry) {
+        // Round up so the entry fires on the first tick at or after its expiration
+        long due = ceilToTick(entry.getExpirationMs());
+        if (due <= currentTime) {
+            return false;
+        }
+        for (int level = 0; ; level++) {
+            if (level == levels.size()) {
+                if (level == MAX_LEVELS) {
+                    throw new IllegalArgumentException("Expiration too far in the future: " + entry);
+                }
+                addLevel();
+            }
+            long levelTick = levelTicks[level];
+            long levelStart = currentTime - currentTime % levelTick;
+            if (due < levelStart + levelTick * wheelSize) {
+                bucketFor(level, due).add(entry);
+                return true;
+            }
+        }
+    }
+
+    private TimerBucket bucketFor(int level, long time) {
+        return levels.get(level)[(int) ((time / levelTicks[level]) % wheelSize)];
+    }
+
+    private long ceilToTick(long time) {
+        long remainder = time % tickMs;
+        return remainder == 0 ? time : time - remainder + tickMs;
+    }
+
+    private void addLevel() {
+        TimerBucket[] buckets = new TimerBucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new TimerBucket();
+        }
+        long levelTick = levels.isEmpty()
+                ? tickMs
+                : Math.multiplyExact(levelTicks[levels.size() - 1], (long) wheelSize);
+        levelTicks[levels.size()] = levelTick;
+        levels.add(buckets);
+    }
+}
@@ -0,0 +1,50 @@
+package org.light.challenge.escalation;
+
+import java.util.function.Consumer;
+
+/**
+ * One slot of a timing wheel: a circular doubly-linked list of entries
+ * with a sentinel head, giving O(1) add and remove.
+ */
+class TimerBucket {
+    private final TimerEntry head = new TimerEntry(0, 0);
+
+    TimerBucket() {
+        head.prev = head;
+        head.next = head;
+    }
+
+    void add(TimerEntry entry) {
+        TimerEntry tail = head.prev;
+        entry.prev = tail;
+        entry.next = head;
+        entry.bucket = this;
+        tail.next = entry;
+        head.prev = entry;
+    }
+
+    void remove(TimerEntry entry) {
+        entry.prev.next = entry.next;
+        entry.next.prev = entry.prev;
+        entry.prev = null;
+        entry.next = null;
+        entry.bucket = null;
+    }
+
+    /**
+     * Unlinks every entry and hands it to the consumer, oldest first.
+     */
+    void drain(Consumer<TimerEntry> consumer) {
+        TimerEntry entry = head.next;
+        head.prev = head;
+        head.next = head;
+        while (entry != head) {
+            TimerEntry next = entry.next;
+            entry.prev = null;
+            entry.next = null;
+            entry.bucket = null;
+            consumer.accept(entry);
+            entry = next;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.light.challenge.escalation;
+
+/**
+ * A single timer held by a {@link HierarchicalTimingWheel}.
+ *
+ * Entries are intrusive doubly-linked list nodes, so the wheel can unlink
+ * one from its bucket in constant time when it is cancelled.
+ */
+public class TimerEntry {
+    private final long key;
+    private final long expirationMs;
+
+    TimerEntry prev;
+    TimerEntry next;
+    TimerBucket bucket;
+
+    /**
+     * @param key          caller-defined identifier, e.g. an approval ID
+     * @param expirationMs absolute time (epoch millis) at which the timer fires
+     */
+    public TimerEntry(long key, long expirationMs) {
+        this.key = key;
+        this.expirationMs = expirationMs;
+    }
+
+    public long getKey() {
+        return key;
+    }
+
+    public long getExpirationMs() {
+        return expirationMs;
+    }
+
+    /**
+     * Returns true while the entry is waiting in a wheel bucket.
+     */
+    public boolean isScheduled() {
+        return bucket != null;
+    }
+
+    @Override
+    public String toString() {
+        return "TimerEntry{" +
+                "key=" + key +
+                ", expirationMs=" + expirationMs +
+                '}';
+    }
+}
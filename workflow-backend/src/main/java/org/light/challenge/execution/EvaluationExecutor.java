@@ -0,0 +1,63 @@
+package org.light.challenge.execution;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs asynchronous workflow evaluations off the Jetty request threads.
+ *
+ * At most {@code maxInFlight} evaluations are queued or running at once;
+ * beyond that {@link #execute} rejects immediately so the caller can shed
+ * load instead of letting work pile up behind a slow step.
+ */
+public class EvaluationExecutor {
+    private final Executor executor;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+    private final long timeoutMillis;
+
+    public EvaluationExecutor(Executor executor, int maxInFlight, long timeoutMillis) {
+        this.executor = executor;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.maxInFlight = maxInFlight;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Queues an evaluation.
+     *
+     * @throws RejectedExecutionException if the in-flight limit is reached
+     */
+    public void execute(Runnable task) {
+        if (!inFlight.tryAcquire()) {
+            throw new RejectedExecutionException("Evaluation limit of " + maxInFlight + " reached");
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns how long a request may wait for its evaluation, in milliseconds.
+     */
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * Returns the number of evaluations currently queued or running.
+     */
+    public int getInFlight() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+}
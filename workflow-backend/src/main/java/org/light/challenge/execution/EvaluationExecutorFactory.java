@@ -0,0 +1,97 @@
+package org.light.challenge.execution;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.lifecycle.ExecutorServiceManager;
+import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
+import io.dropwizard.util.Duration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Configuration for the executor behind {@code POST /workflow/async}.
+ * Sized independently of Jetty's request threads ({@code server.maxThreads}).
+ */
+public class EvaluationExecutorFactory {
+    @JsonProperty("threads")
+    private int threads = 32;
+
+    @JsonProperty("queueCapacity")
+    private int queueCapacity = 1024;
+
+    @JsonProperty("timeout")
+    private Duration timeout = Duration.seconds(5);
+
+    @JsonProperty("virtualThreads")
+    private boolean virtualThreads = false;
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Whether to run each evaluation on its own virtual thread. Needs a JVM
+     * with virtual threads (21+); on older runtimes the pool is used instead.
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Creates the executor and registers it so it is shut down with the server.
+     */
+    public EvaluationExecutor build(LifecycleEnvironment lifecycle) {
+        int maxInFlight = threads + queueCapacity;
+        if (virtualThreads) {
+            ExecutorService perTask = newVirtualThreadPerTaskExecutor();
+            if (perTask != null) {
+                lifecycle.manage(new ExecutorServiceManager(perTask, Duration.seconds(5), "evaluation-virtual"));
+                System.out.println("Async evaluation on virtual threads, up to " + maxInFlight + " in flight");
+                return new EvaluationExecutor(perTask, maxInFlight, timeout.toMilliseconds());
+            }
+            System.out.println("Virtual threads are not available on this JVM, using a pool of " + threads);
+        }
+        ExecutorService pool = lifecycle.executorService("evaluation-%d")
+                .minThreads(threads)
+                .maxThreads(threads)
+                .workQueue(new ArrayBlockingQueue<>(queueCapacity))
+                .rejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy())
+                .build();
+        return new EvaluationExecutor(pool, maxInFlight, timeout.toMilliseconds());
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        // Looked up reflectively so the code still compiles for Java 11
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package org.light.challenge.impact;
+
+import org.light.challenge.approval.PendingApproval;
+import org.light.challenge.approval.PendingApprovalStore;
+import org.light.challenge.engine.WorkflowEngine;
+import org.light.challenge.escalation.EscalationScheduler;
+import org.light.challenge.model.ApprovalAction;
+import org.light.challenge.model.Invoice;
+import org.light.challenge.model.WorkflowRule;
+import org.light.challenge.notification.NotificationDispatcher;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Re-routes pending approvals after a rule change, touching only the ones
+ * the change can affect instead of re-evaluating every open approval.
+ *
+ * The change is diffed into a {@link RuleChangeFootprint}; each of its regions
+ * is a range query on the store's secondary index. Every approval found is
+ * re-evaluated against the current rules, and if its route changed it is
+ * handed to the new rule, its escalation timers restart and the new approver
+ * is notified.
+ *
+ * Changes are submitted with the rule sets before and after them, captured
+ * under the repository lock, and re-routed on a single background thread in
+ * the order they were submitted, so a rule change never waits for the pass.
+ * Each pass re-evaluates against the current rules; a later change queued
+ * behind it covers whatever that change affects. Approvals created
+ * concurrently by an evaluation that read the old rules may be stored after
+ * the pass and keep their old route.
+ */
+public class ApprovalRerouter {
+    private static final int RECENT_REPORTS = 50;
+
+    private final PendingApprovalStore approvals;
+    private final WorkflowEngine engine;
+    private final EscalationScheduler escalations;
+    private final NotificationDispatcher notifications;
+    private final Executor executor;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Deque<RerouteReport> recent = new ArrayDeque<>();
+
+    /**
+     * @param executor runs the passes; it must run tasks one at a time, in submission order
+     */
+    public ApprovalRerouter(PendingApprovalStore approvals, WorkflowEngine engine,
+                            EscalationScheduler escalations, NotificationDispatcher notifications,
+                            Executor executor) {
+        this.approvals = approvals;
+        this.engine = engine;
+        this.escalations = escalations;
+        this.notifications = notifications;
+        this.executor = executor;
+    }
+
+    /**
+     * Queues re-routing after a change. Call it while still holding the
+     * repository lock, so changes are queued in the order they were made.
+     *
+     * @param change short description for the report, e.g. {@code "PUT rule-3"}
+     * @param before the rules, in priority order, before the change
+     * @param after  the rules, in priority order, after the change
+     * @return the sequence number its report will carry
+     */
+    public long submit(String change, List<WorkflowRule> before, List<WorkflowRule> after) {
+        long number = sequence.incrementAndGet();
+        executor.execute(() -> {
+            try {
+                reroute(number, change, before, after);
+            } catch (RuntimeException e) {
+                System.out.println("Re-routing after " + change + " failed: " + e);
+            }
+        });
+        return number;
+    }
+
+    private void reroute(long number, String change, List<WorkflowRule> before, List<WorkflowRule> after) {
+        long started = System.nanoTime();
+        RuleChangeFootprint footprint = RuleChangeFootprint.diff(before, after);
+
+        long[] ids = affectedApprovals(footprint);
+        int rerouted = 0;
+        int unmatched = 0;
+        for (long id : ids) {
+            Optional<PendingApproval> found = approvals.get(id);
+            if (!found.isPresent() || !found.get().getState().isOpen()) {
+                continue;
+            }
+            PendingApproval approval = found.get();
+            Invoice invoice = new Invoice(approval.getAmountMinor(), approval.getCurrency(),
+                    approval.getDepartment(), approval.isRequiresManagerApproval());
+            Optional<WorkflowRule> match = engine.findMatchingRule(invoice);
+            if (!match.isPresent()) {
+                unmatched++;
+                continue;
+            }
+            WorkflowRule rule = match.get();
+            if (rule.getId().equals(approval.getRuleId())
+                    && !footprint.getChangedActionRuleIds().contains(rule.getId())) {
+                continue;
+            }
+            if (approvals.reroute(id, rule.getId(), rule.getAction()).isPresent()) {
+                escalations.cancel(id);
+                escalations.track(id, rule);
+                ApprovalAction action = rule.getAction();
+                notifications.dispatch(action.withMessage(String.format(
+                    "%s (approval %d, re-routed after a rule change)", action.getMessage(), id)));
+                rerouted++;
+            }
+        }
+
+        RerouteReport report = new RerouteReport(number, change, new ArrayList<>(footprint.getChangedRuleIds()),
+                footprint.getRegions().size(), approvals.openCount(), ids.length, rerouted, unmatched,
+                (System.nanoTime() - started) / 1e6);
+        System.out.println("Re-routing after " + report);
+        synchronized (recent) {
+            if (recent.size() == RECENT_REPORTS) {
+                recent.removeLast();
+            }
+            recent.addFirst(report);
+        }
+    }
+
+    /**
+     * Returns the reports of the most recent rule changes, newest first.
+     */
+    public List<RerouteReport> getRecentReports() {
+        synchronized (recent) {
+            return new ArrayList<>(recent);
+        }
+    }
+
+    private long[] affectedApprovals(RuleChangeFootprint footprint) {
+        long[] ids = new long[0];
+        for (RuleRegion region : footprint.getRegions()) {
+            long[] found = approvals.findOpen(region.getDepartment(), region.getManagerFlag(),
+                    region.getMinAmountMinor(), region.getMaxAmountMinor());
+            long[] merged = Arrays.copyOf(ids, ids.length + found.length);
+            System.arraycopy(found, 0, merged, ids.length, found.length);
+            ids = merged;
+        }
+        // Regions can overlap; re-evaluate each approval once
+        Arrays.sort(ids);
+        int unique = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (i == 0 || ids[i] != ids[i - 1]) {
+                ids[unique++] = ids[i];
+            }
+        }
+        return Arrays.copyOf(ids, unique);
+    }
+}
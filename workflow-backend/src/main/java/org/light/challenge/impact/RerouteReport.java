@@ -0,0 +1,109 @@
+package org.light.challenge.impact;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What re-routing pending approvals after one rule change did.
+ */
+public class RerouteReport {
+    @JsonProperty("sequence")
+    private final long sequence;
+
+    @JsonProperty("change")
+    private final String change;
+
+    @JsonProperty("changedRules")
+    private final List<String> changedRules;
+
+    @JsonProperty("regions")
+    private final int regions;
+
+    @JsonProperty("openApprovals")
+    private final int openApprovals;
+
+    @JsonProperty("examined")
+    private final int examined;
+
+    @JsonProperty("rerouted")
+    private final int rerouted;
+
+    @JsonProperty("unmatched")
+    private final int unmatched;
+
+    @JsonProperty("durationMillis")
+    private final double durationMillis;
+
+    public RerouteReport(long sequence, String change, List<String> changedRules, int regions, int openApprovals,
+                         int examined, int rerouted, int unmatched, double durationMillis) {
+        this.sequence = sequence;
+        this.change = change;
+        this.changedRules = new ArrayList<>(changedRules);
+        this.regions = regions;
+        this.openApprovals = openApprovals;
+        this.examined = examined;
+        this.rerouted = rerouted;
+        this.unmatched = unmatched;
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * Position of the change in commit order, as returned when it was queued.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public String getChange() {
+        return change;
+    }
+
+    public List<String> getChangedRules() {
+        return changedRules;
+    }
+
+    public int getRegions() {
+        return regions;
+    }
+
+    /**
+     * Open approvals in the store when the change was applied.
+     */
+    public int getOpenApprovals() {
+        return openApprovals;
+    }
+
+    /**
+     * Open approvals inside the change's footprint, each re-evaluated once.
+     */
+    public int getExamined() {
+        return examined;
+    }
+
+    /**
+     * Approvals handed to a different rule or to the changed action of their rule.
+     */
+    public int getRerouted() {
+        return rerouted;
+    }
+
+    /**
+     * Approvals that no longer match any rule; they keep their current route.
+     */
+    public int getUnmatched() {
+        return unmatched;
+    }
+
+    public double getDurationMillis() {
+        return durationMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("#%d %s: rules %s, %d regions, examined %d of %d open approvals, "
+                + "rerouted %d, unmatched %d, in %.2f ms",
+            sequence, change, changedRules, regions, examined, openApprovals, rerouted, unmatched, durationMillis);
+    }
+}
@@ -0,0 +1,175 @@
+package org.light.challenge.impact;
+
+import org.light.challenge.condition.AmountCondition;
+import org.light.challenge.condition.Condition;
+import org.light.challenge.condition.DepartmentCondition;
+import org.light.challenge.condition.ManagerApprovalCondition;
+import org.light.challenge.model.ApprovalAction;
+import org.light.challenge.model.WorkflowRule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The part of invoice space whose routing a rule change can affect.
+ *
+ * An invoice's route is the first rule, in priority order, that matches it.
+ * That can only change for invoices inside the region of a rule that was
+ * added, removed or given new conditions (old and new regions), a rule whose
+ * action changed, or the overlap of two rules whose relative order flipped.
+ * Every other invoice sees the same matching rules in the same order.
+ *
+ * Whether a rule changed is decided from its conditions themselves, not from
+ * its region: regions over-approximate, so an edit such as {@code != 10000}
+ * to {@code != 20000} leaves the region as it was while changing the route.
+ * Regions are only used to find the approvals to re-evaluate.
+ */
+public final class RuleChangeFootprint {
+    private final List<RuleRegion> regions;
+    private final Set<String> changedRuleIds;
+    private final Set<String> changedActionRuleIds;
+
+    private RuleChangeFootprint(List<RuleRegion> regions, Set<String> changedRuleIds,
+                                Set<String> changedActionRuleIds) {
+        this.regions = regions;
+        this.changedRuleIds = changedRuleIds;
+        this.changedActionRuleIds = changedActionRuleIds;
+    }
+
+    /**
+     * Diffs two rule sets, each given in priority order.
+     */
+    public static RuleChangeFootprint diff(List<WorkflowRule> before, List<WorkflowRule> after) {
+        Map<String, WorkflowRule> oldById = byId(before);
+        Map<String, WorkflowRule> newById = byId(after);
+        Set<RuleRegion> regions = new LinkedHashSet<>();
+        Set<String> changed = new LinkedHashSet<>();
+        Set<String> changedActions = new LinkedHashSet<>();
+
+        for (WorkflowRule rule : before) {
+            WorkflowRule updated = newById.get(rule.getId());
+            if (updated == null) {
+                changed.add(rule.getId());
+                RuleRegion.of(rule).ifPresent(regions::add);
+                continue;
+            }
+            boolean actionChanged = !sameAction(rule.getAction(), updated.getAction());
+            if (!sameConditions(rule, updated) || actionChanged) {
+                changed.add(rule.getId());
+                RuleRegion.of(rule).ifPresent(regions::add);
+                RuleRegion.of(updated).ifPresent(regions::add);
+                if (actionChanged) {
+                    changedActions.add(rule.getId());
+                }
+            }
+        }
+        for (WorkflowRule rule : after) {
+            if (!oldById.containsKey(rule.getId())) {
+                changed.add(rule.getId());
+                RuleRegion.of(rule).ifPresent(regions::add);
+            }
+        }
+
+        // Unchanged rules that swapped places only matter where both can match
+        List<WorkflowRule> kept = new ArrayList<>();
+        for (WorkflowRule rule : before) {
+            if (newById.containsKey(rule.getId()) && !changed.contains(rule.getId())) {
+                kept.add(rule);
+            }
+        }
+        Map<String, Integer> newRank = new HashMap<>();
+        for (int i = 0; i < after.size(); i++) {
+            newRank.put(after.get(i).getId(), i);
+        }
+        for (int i = 0; i < kept.size(); i++) {
+            for (int j = i + 1; j < kept.size(); j++) {
+                WorkflowRule first = kept.get(i);
+                WorkflowRule second = kept.get(j);
+                if (newRank.get(first.getId()) > newRank.get(second.getId())) {
+                    changed.add(first.getId());
+                    changed.add(second.getId());
+                    RuleRegion.of(first)
+                        .flatMap(region -> RuleRegion.of(second).flatMap(region::intersect))
+                        .ifPresent(regions::add);
+                }
+            }
+        }
+        return new RuleChangeFootprint(new ArrayList<>(regions), changed, changedActions);
+    }
+
+    private static Map<String, WorkflowRule> byId(List<WorkflowRule> rules) {
+        Map<String, WorkflowRule> byId = new HashMap<>();
+        for (WorkflowRule rule : rules) {
+            byId.put(rule.getId(), rule);
+        }
+        return byId;
+    }
+
+    /**
+     * Compares conditions as an unordered collection, since a rule ANDs them.
+     * Conditions of types without a known shape only count as the same if they
+     * are the same object, so such edits are never missed.
+     */
+    private static boolean sameConditions(WorkflowRule a, WorkflowRule b) {
+        return conditionCounts(a).equals(conditionCounts(b));
+    }
+
+    private static Map<Object, Integer> conditionCounts(WorkflowRule rule) {
+        Map<Object, Integer> counts = new HashMap<>();
+        for (Condition condition : rule.getConditions()) {
+            counts.merge(conditionKey(condition), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    private static Object conditionKey(Condition condition) {
+        if (condition instanceof AmountCondition) {
+            AmountCondition amount = (AmountCondition) condition;
+            return "amount " + amount.getOperator() + " " + amount.getThresholdMinor();
+        }
+        if (condition instanceof DepartmentCondition) {
+            return "department " + ((DepartmentCondition) condition).getExpectedDepartment().toLowerCase(Locale.ROOT);
+        }
+        if (condition instanceof ManagerApprovalCondition) {
+            return "manager " + ((ManagerApprovalCondition) condition).getExpectedValue();
+        }
+        return condition;
+    }
+
+    private static boolean sameAction(ApprovalAction a, ApprovalAction b) {
+        return a.getApproverRole() == b.getApproverRole()
+                && a.getChannel() == b.getChannel()
+                && Objects.equals(a.getMessage(), b.getMessage());
+    }
+
+    /**
+     * Regions that may contain re-routed invoices; they can overlap.
+     */
+    public List<RuleRegion> getRegions() {
+        return Collections.unmodifiableList(regions);
+    }
+
+    public Set<String> getChangedRuleIds() {
+        return Collections.unmodifiableSet(changedRuleIds);
+    }
+
+    /**
+     * Rules kept under the same ID whose approver, channel or message changed,
+     * so invoices still routed by them need a fresh notification.
+     */
+    public Set<String> getChangedActionRuleIds() {
+        return Collections.unmodifiableSet(changedActionRuleIds);
+    }
+
+    public boolean isEmpty() {
+        return regions.isEmpty();
+    }
+}
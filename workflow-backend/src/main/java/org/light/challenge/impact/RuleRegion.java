@@ -0,0 +1,146 @@
+package org.light.challenge.impact;
+
+import org.light.challenge.condition.AmountCondition;
+import org.light.challenge.condition.Condition;
+import org.light.challenge.condition.DepartmentCondition;
+import org.light.challenge.condition.ManagerApprovalCondition;
+import org.light.challenge.model.WorkflowRule;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The set of invoices a rule can match, as a box over the attributes the
+ * conditions look at: an inclusive amount range in minor units, a department
+ * (null for any) and a manager-approval flag (null for either).
+ *
+ * Regions over-approximate where needed (e.g. {@code != x} and unknown
+ * condition types leave the box unconstrained), never under-approximate, so
+ * every invoice a rule matches lies inside its region.
+ */
+public final class RuleRegion {
+    public static final RuleRegion EVERYTHING = new RuleRegion(Long.MIN_VALUE, Long.MAX_VALUE, null, null);
+
+    private final long minAmountMinor;
+    private final long maxAmountMinor;
+    private final String department;
+    private final Boolean managerFlag;
+
+    public RuleRegion(long minAmountMinor, long maxAmountMinor, String department, Boolean managerFlag) {
+        this.minAmountMinor = minAmountMinor;
+        this.maxAmountMinor = maxAmountMinor;
+        this.department = department;
+        this.managerFlag = managerFlag;
+    }
+
+    /**
+     * Returns the region of invoices the rule can match, or empty if its
+     * conditions contradict each other.
+     */
+    public static Optional<RuleRegion> of(WorkflowRule rule) {
+        Optional<RuleRegion> region = Optional.of(EVERYTHING);
+        for (Condition condition : rule.getConditions()) {
+            region = region.flatMap(r -> r.intersect(ofCondition(condition)));
+        }
+        return region;
+    }
+
+    private static RuleRegion ofCondition(Condition condition) {
+        if (condition instanceof AmountCondition) {
+            long t = ((AmountCondition) condition).getThresholdMinor();
+            switch (((AmountCondition) condition).getOperator()) {
+                case GREATER_THAN:
+                    return amounts(t == Long.MAX_VALUE ? t : t + 1, Long.MAX_VALUE);
+                case GREATER_THAN_OR_EQUAL:
+                    return amounts(t, Long.MAX_VALUE);
+                case LESS_THAN:
+                    return amounts(Long.MIN_VALUE, t == Long.MIN_VALUE ? t : t - 1);
+                case LESS_THAN_OR_EQUAL:
+                    return amounts(Long.MIN_VALUE, t);
+                case EQUAL:
+                    return amounts(t, t);
+                default:
+                    return EVERYTHING;
+            }
+        }
+        if (condition instanceof DepartmentCondition) {
+            return new RuleRegion(Long.MIN_VALUE, Long.MAX_VALUE,
+                    ((DepartmentCondition) condition).getExpectedDepartment(), null);
+        }
+        if (condition instanceof ManagerApprovalCondition) {
+            return new RuleRegion(Long.MIN_VALUE, Long.MAX_VALUE, null,
+                    ((ManagerApprovalCondition) condition).getExpectedValue());
+        }
+        return EVERYTHING;
+    }
+
+    private static RuleRegion amounts(long min, long max) {
+        return new RuleRegion(min, max, null, null);
+    }
+
+    /**
+     * Returns the region both boxes cover, or empty if they are disjoint.
+     */
+    public Optional<RuleRegion> intersect(RuleRegion other) {
+        long min = Math.max(minAmountMinor, other.minAmountMinor);
+        long max = Math.min(maxAmountMinor, other.maxAmountMinor);
+        if (min > max) {
+            return Optional.empty();
+        }
+        String dept = department;
+        if (dept == null) {
+            dept = other.department;
+        } else if (other.department != null && !dept.equalsIgnoreCase(other.department)) {
+            return Optional.empty();
+        }
+        Boolean flag = managerFlag;
+        if (flag == null) {
+            flag = other.managerFlag;
+        } else if (other.managerFlag != null && !flag.equals(other.managerFlag)) {
+            return Optional.empty();
+        }
+        return Optional.of(new RuleRegion(min, max, dept, flag));
+    }
+
+    public long getMinAmountMinor() {
+        return minAmountMinor;
+    }
+
+    public long getMaxAmountMinor() {
+        return maxAmountMinor;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public Boolean getManagerFlag() {
+        return managerFlag;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof RuleRegion)) {
+            return false;
+        }
+        RuleRegion other = (RuleRegion) o;
+        return minAmountMinor == other.minAmountMinor
+                && maxAmountMinor == other.maxAmountMinor
+                && (department == null ? other.department == null : department.equalsIgnoreCase(other.department))
+                && Objects.equals(managerFlag, other.managerFlag);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(minAmountMinor, maxAmountMinor,
+                department == null ? null : department.toLowerCase(Locale.ROOT), managerFlag);
+    }
+
+    @Override
+    public String toString() {
+        return "RuleRegion{amount=[" + minAmountMinor + ", " + maxAmountMinor + "]"
+                + ", department=" + (department == null ? "*" : department)
+                + ", managerFlag=" + (managerFlag == null ? "*" : managerFlag) + '}';
+    }
+}
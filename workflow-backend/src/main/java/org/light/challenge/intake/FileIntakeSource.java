@@ -0,0 +1,47 @@
+package org.light.challenge.intake;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads invoice records from a JSON-lines file, optionally several times
+ * over to sustain load for longer than one pass takes.
+ */
+public class FileIntakeSource implements IntakeSource {
+    private final Path file;
+    private int passesLeft;
+    private BufferedReader reader;
+
+    public FileIntakeSource(Path file, int passes) throws IOException {
+        this.file = file;
+        this.passesLeft = passes - 1;
+        this.reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String nextLine() throws IOException {
+        while (true) {
+            String line = reader.readLine();
+            if (line == null) {
+                if (passesLeft <= 0) {
+                    return null;
+                }
+                passesLeft--;
+                reader.close();
+                reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+                continue;
+            }
+            if (!line.trim().isEmpty()) {
+                return line;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
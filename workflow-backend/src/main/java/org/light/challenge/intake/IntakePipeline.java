@@ -0,0 +1,160 @@
+package org.light.challenge.intake;
+
+import org.light.challenge.analytics.QuantileSketch;
+import org.light.challenge.engine.WorkflowEngine;
+import org.light.challenge.model.Money;
+import org.light.challenge.notification.NotificationDispatcher;
+import org.light.challenge.replay.InvoiceJson;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Staged invoice intake over a {@link RingBuffer}, for queue-fed ingestion
+ * that bypasses HTTP:
+ * <pre>
+ *   source → [parse] → [evaluate] → [audit] → [dispatch]
+ * </pre>
+ * The caller's thread is the single producer; each stage has a dedicated
+ * thread and follows the stage in front of it through its {@link Sequence},
+ * taking everything that is ready as one batch. Slots are preallocated and
+ * reused, and nothing is queued or locked between stages.
+ */
+public class IntakePipeline {
+    private final WorkflowEngine engine;
+    private final NotificationDispatcher dispatcher;
+    private final Writer audit;
+    private final RingBuffer ring;
+    private final List<StageProcessor> stages;
+    // Written by the audit and dispatch threads respectively; read after they stop
+    private final QuantileSketch endToEndNanos = new QuantileSketch(0.01, 10_000_000_000L);
+    private long routed;
+    private long unmatched;
+    private long rejected;
+
+    /**
+     * @param audit      receives one line per record; flushed at the end of every batch
+     * @param bufferSize ring buffer slots; must be a power of two
+     */
+    public IntakePipeline(WorkflowEngine engine, NotificationDispatcher dispatcher, Writer audit,
+                          int bufferSize, WaitStrategy waitStrategy) {
+        this.engine = engine;
+        this.dispatcher = dispatcher;
+        this.audit = audit;
+        this.ring = new RingBuffer(bufferSize, waitStrategy);
+
+        StageProcessor parse = new StageProcessor("parse", ring, ring.getCursor(), this::parse, waitStrategy);
+        StageProcessor evaluate = new StageProcessor("evaluate", ring, parse.getSequence(), this::evaluate, waitStrategy);
+        StageProcessor auditStage = new StageProcessor("audit", ring, evaluate.getSequence(), this::audit, waitStrategy);
+        StageProcessor dispatch = new StageProcessor("dispatch", ring, auditStage.getSequence(), this::dispatch, waitStrategy);
+        this.stages = Arrays.asList(parse, evaluate, auditStage, dispatch);
+        ring.setGatingSequence(dispatch.getSequence());
+    }
+
+    /**
+     * Feeds every record from the source through the pipeline on the calling
+     * thread, waits for the last one to be dispatched and returns the run's stats.
+     * A pipeline runs once.
+     */
+    public IntakeStats run(IntakeSource source) throws IOException, InterruptedException {
+        Thread[] threads = new Thread[stages.size()];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(stages.get(i), "intake-" + stages.get(i).getName());
+            threads[i].start();
+        }
+
+        long started = System.nanoTime();
+        long published = 0;
+        try {
+            String line;
+            while ((line = source.nextLine()) != null) {
+                long sequence = ring.next();
+                ring.get(sequence).reset(line, System.nanoTime());
+                ring.publish(sequence);
+                published++;
+            }
+            Sequence last = stages.get(stages.size() - 1).getSequence();
+            while (last.get() < ring.getCursor().get()) {
+                LockSupport.parkNanos(100_000);
+            }
+        } finally {
+            for (StageProcessor stage : stages) {
+                stage.halt();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            audit.flush();
+        }
+        long elapsed = System.nanoTime() - started;
+        return new IntakeStats(published, routed, unmatched, rejected, elapsed, stages, endToEndNanos);
+    }
+
+    /**
+     * Returns how many records have been fully dispatched so far.
+     */
+    public long getCompleted() {
+        return stages.get(stages.size() - 1).getSequence().get() + 1;
+    }
+
+    private void parse(InvoiceSlot slot, long sequence, boolean endOfBatch) {
+        try {
+            slot.invoice = InvoiceJson.parse(slot.line);
+        } catch (IllegalArgumentException e) {
+            slot.error = e.getMessage();
+        }
+    }
+
+    private void evaluate(InvoiceSlot slot, long sequence, boolean endOfBatch) {
+        if (slot.error != null) {
+            return;
+        }
+        try {
+            slot.rule = engine.matchRule(slot.invoice);
+        } catch (WorkflowEngine.WorkflowException e) {
+            slot.error = e.getMessage();
+        }
+    }
+
+    private void audit(InvoiceSlot slot, long sequence, boolean endOfBatch) throws IOException {
+        String outcome;
+        if (slot.rule != null) {
+            routed++;
+            outcome = slot.rule.getId();
+        } else if (slot.invoice != null) {
+            unmatched++;
+            outcome = "NO_MATCH";
+        } else {
+            rejected++;
+            outcome = "REJECTED";
+        }
+        audit.write(Long.toString(sequence));
+        audit.write('\t');
+        audit.write(outcome);
+        if (slot.invoice != null) {
+            audit.write('\t');
+            audit.write(slot.invoice.getDepartment());
+            audit.write('\t');
+            audit.write(Money.format(slot.invoice.getAmountMinor()));
+            audit.write(' ');
+            audit.write(slot.invoice.getCurrency());
+        } else {
+            audit.write('\t');
+            audit.write(String.valueOf(slot.error));
+        }
+        audit.write('\n');
+        if (endOfBatch) {
+            audit.flush();
+        }
+    }
+
+    private void dispatch(InvoiceSlot slot, long sequence, boolean endOfBatch) {
+        if (slot.rule != null) {
+            dispatcher.dispatch(slot.rule.getAction());
+        }
+        endToEndNanos.add(System.nanoTime() - slot.publishedNanos);
+    }
+}
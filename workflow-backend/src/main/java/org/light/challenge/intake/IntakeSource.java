@@ -0,0 +1,15 @@
+package org.light.challenge.intake;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * A local stand-in for the ingestion queue: a stream of raw invoice records,
+ * one JSON object per line.
+ */
+public interface IntakeSource extends Closeable {
+    /**
+     * Returns the next raw record, or null when the source is exhausted.
+     */
+    String nextLine() throws IOException;
+}
@@ -0,0 +1,123 @@
+package org.light.challenge.intake;
+
+import org.light.challenge.analytics.QuantileSketch;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of an intake run: sustained throughput, routing outcome counts,
+ * per-stage service time and end-to-end latency from publish to dispatch.
+ */
+public class IntakeStats {
+    private final long records;
+    private final long routed;
+    private final long unmatched;
+    private final long rejected;
+    private final long elapsedNanos;
+    private final List<StageStats> stages = new ArrayList<>();
+    private final QuantileSketch endToEndNanos;
+
+    IntakeStats(long records, long routed, long unmatched, long rejected, long elapsedNanos,
+                List<StageProcessor> processors, QuantileSketch endToEndNanos) {
+        this.records = records;
+        this.routed = routed;
+        this.unmatched = unmatched;
+        this.rejected = rejected;
+        this.elapsedNanos = elapsedNanos;
+        for (StageProcessor processor : processors) {
+            stages.add(new StageStats(processor.getName(), processor.getBatches(),
+                processor.getFailures(), processor.getLatencyNanos()));
+        }
+        this.endToEndNanos = endToEndNanos;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    public long getRouted() {
+        return routed;
+    }
+
+    public long getUnmatched() {
+        return unmatched;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : records * 1e9 / elapsedNanos;
+    }
+
+    public List<StageStats> getStages() {
+        return Collections.unmodifiableList(stages);
+    }
+
+    public QuantileSketch getEndToEndNanos() {
+        return endToEndNanos;
+    }
+
+    public void print(PrintStream out) {
+        out.println("=== Intake Pipeline ===");
+        out.println(String.format("Records:    %d in %.2f s (%.0f records/s sustained)",
+            records, elapsedNanos / 1e9, getThroughput()));
+        out.println(String.format("Routed:     %d", routed));
+        out.println(String.format("Unmatched:  %d", unmatched));
+        out.println(String.format("Rejected:   %d", rejected));
+        out.println();
+        out.println(String.format("%-10s %10s %10s %10s %10s %10s %8s",
+            "Stage", "Batches", "Avg batch", "p50 us", "p99 us", "p99.9 us", "Failed"));
+        for (StageStats stage : stages) {
+            QuantileSketch latency = stage.getLatencyNanos();
+            out.println(String.format("%-10s %10d %10.1f %10.2f %10.2f %10.2f %8d",
+                stage.getName(), stage.getBatches(),
+                stage.getBatches() == 0 ? 0.0 : (double) latency.getCount() / stage.getBatches(),
+                micros(latency, 0.5), micros(latency, 0.99), micros(latency, 0.999), stage.getFailures()));
+        }
+        out.println(String.format("%-10s %10s %10s %10.2f %10.2f %10.2f",
+            "end-to-end", "", "", micros(endToEndNanos, 0.5), micros(endToEndNanos, 0.99),
+            micros(endToEndNanos, 0.999)));
+    }
+
+    private static double micros(QuantileSketch sketch, double q) {
+        return sketch.quantile(q) / 1_000.0;
+    }
+
+    /**
+     * Counters and service-time distribution of one stage.
+     */
+    public static class StageStats {
+        private final String name;
+        private final long batches;
+        private final long failures;
+        private final QuantileSketch latencyNanos;
+
+        StageStats(String name, long batches, long failures, QuantileSketch latencyNanos) {
+            this.name = name;
+            this.batches = batches;
+            this.failures = failures;
+            this.latencyNanos = latencyNanos;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getBatches() {
+            return batches;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        public QuantileSketch getLatencyNanos() {
+            return latencyNanos;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.light.challenge.intake;
+
+import org.light.challenge.model.Invoice;
+import org.light.challenge.model.WorkflowRule;
+
+/**
+ * One preallocated ring buffer entry. Every stage reads what the stages in
+ * front of it wrote and fills in its own fields; the slot is reused once the
+ * last stage is done with it, so all fields are reset on {@link #reset}.
+ *
+ * Slots are handed between threads through {@link Sequence} updates, which
+ * publish their writes, so the fields themselves need no synchronization.
+ */
+public final class InvoiceSlot {
+    String line;
+    long publishedNanos;
+
+    Invoice invoice;
+    WorkflowRule rule;
+    String error;
+
+    void reset(String line, long publishedNanos) {
+        this.line = line;
+        this.publishedNanos = publishedNanos;
+        this.invoice = null;
+        this.rule = null;
+        this.error = null;
+    }
+
+    public Invoice getInvoice() {
+        return invoice;
+    }
+
+    public WorkflowRule getRule() {
+        return rule;
+    }
+
+    /**
+     * Returns why the record was not routed, or null if it was.
+     */
+    public String getError() {
+        return error;
+    }
+}
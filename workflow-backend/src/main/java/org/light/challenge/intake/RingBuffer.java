@@ -0,0 +1,82 @@
+package org.light.challenge.intake;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fixed-size ring of preallocated {@link InvoiceSlot}s with a single writer.
+ *
+ * The producer claims the next sequence with {@link #next()}, fills the slot
+ * and makes it visible with {@link #publish}. Because there is exactly one
+ * producer, claiming is a plain increment with no CAS. The producer only
+ * waits when it would overwrite a slot the last stage has not finished.
+ */
+public class RingBuffer {
+    private final InvoiceSlot[] slots;
+    private final int mask;
+    private final WaitStrategy waitStrategy;
+    private final Sequence cursor = new Sequence(-1);
+    private Sequence gatingSequence = new Sequence(Long.MAX_VALUE);
+
+    // Producer-thread state only
+    private long nextValue = -1;
+    private long cachedGatingValue = -1;
+
+    /**
+     * @param size number of slots; must be a power of two
+     */
+    public RingBuffer(int size, WaitStrategy waitStrategy) {
+        if (size < 1 || Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("Ring buffer size must be a power of two: " + size);
+        }
+        this.slots = new InvoiceSlot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new InvoiceSlot();
+        }
+        this.mask = size - 1;
+        this.waitStrategy = waitStrategy;
+    }
+
+    /**
+     * Sets the sequence of the last stage, which the producer must not lap.
+     */
+    void setGatingSequence(Sequence gatingSequence) {
+        this.gatingSequence = gatingSequence;
+    }
+
+    /**
+     * Claims the next slot, waiting while the ring is full. Producer thread only.
+     */
+    public long next() {
+        long next = nextValue + 1;
+        long wrapPoint = next - slots.length;
+        if (wrapPoint > cachedGatingValue) {
+            long gating;
+            while (wrapPoint > (gating = gatingSequence.get())) {
+                LockSupport.parkNanos(1);
+            }
+            cachedGatingValue = gating;
+        }
+        nextValue = next;
+        return next;
+    }
+
+    public InvoiceSlot get(long sequence) {
+        return slots[(int) (sequence & mask)];
+    }
+
+    /**
+     * Makes the claimed slot visible to the first stage. Producer thread only.
+     */
+    public void publish(long sequence) {
+        cursor.set(sequence);
+        waitStrategy.signalAllWhenBlocking();
+    }
+
+    public Sequence getCursor() {
+        return cursor;
+    }
+
+    public int getSize() {
+        return slots.length;
+    }
+}
@@ -0,0 +1,68 @@
+package org.light.challenge.intake;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Accepts producers on a local TCP port, one connection at a time, and reads
+ * newline-delimited invoice records from each, e.g.
+ * {@code nc localhost 9500 < invoices.jsonl}.
+ * The source is exhausted after {@code connections} producers have disconnected.
+ */
+public class SocketIntakeSource implements IntakeSource {
+    private final ServerSocket server;
+    private int connectionsLeft;
+    private Socket socket;
+    private BufferedReader reader;
+
+    public SocketIntakeSource(int port, int connections) throws IOException {
+        this.server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.connectionsLeft = connections;
+    }
+
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    @Override
+    public String nextLine() throws IOException {
+        while (true) {
+            if (reader == null) {
+                if (connectionsLeft <= 0) {
+                    return null;
+                }
+                connectionsLeft--;
+                socket = server.accept();
+                reader = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8), 64 * 1024);
+            }
+            String line = reader.readLine();
+            if (line == null) {
+                closeConnection();
+                continue;
+            }
+            if (!line.trim().isEmpty()) {
+                return line;
+            }
+        }
+    }
+
+    private void closeConnection() throws IOException {
+        reader = null;
+        socket.close();
+        socket = null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (socket != null) {
+            closeConnection();
+        }
+        server.close();
+    }
+}
@@ -0,0 +1,104 @@
+package org.light.challenge.intake;
+
+import org.light.challenge.analytics.QuantileSketch;
+
+/**
+ * Runs one pipeline stage on its own thread. The stage takes every slot the
+ * stage in front of it has finished as one batch, handles them in order and
+ * then advances its own sequence once for the whole batch.
+ */
+final class StageProcessor implements Runnable {
+    /**
+     * Per-slot work of a stage. Runs on the stage thread only.
+     */
+    interface Handler {
+        /**
+         * @param endOfBatch true for the last slot of the current batch, e.g. to flush buffered output
+         */
+        void onSlot(InvoiceSlot slot, long sequence, boolean endOfBatch) throws Exception;
+    }
+
+    private final String name;
+    private final RingBuffer ring;
+    private final Sequence dependency;
+    private final Handler handler;
+    private final WaitStrategy waitStrategy;
+    private final Sequence sequence = new Sequence(-1);
+    // Service time per slot, 1% relative accuracy up to 10s
+    private final QuantileSketch latencyNanos = new QuantileSketch(0.01, 10_000_000_000L);
+    private volatile boolean running = true;
+    private long batches;
+    private long failures;
+
+    StageProcessor(String name, RingBuffer ring, Sequence dependency, Handler handler, WaitStrategy waitStrategy) {
+        this.name = name;
+        this.ring = ring;
+        this.dependency = dependency;
+        this.handler = handler;
+        this.waitStrategy = waitStrategy;
+    }
+
+    @Override
+    public void run() {
+        long next = sequence.get() + 1;
+        while (true) {
+            long available = waitStrategy.waitFor(next, dependency, this::isRunning);
+            if (available < next) {
+                if (!running) {
+                    return;
+                }
+                continue;
+            }
+            for (long s = next; s <= available; s++) {
+                InvoiceSlot slot = ring.get(s);
+                long started = System.nanoTime();
+                try {
+                    handler.onSlot(slot, s, s == available);
+                } catch (Exception e) {
+                    // A bad record must not stall the pipeline; later stages see the error
+                    failures++;
+                    if (slot.error == null) {
+                        slot.error = name + " failed: " + e.getMessage();
+                    }
+                }
+                latencyNanos.add(System.nanoTime() - started);
+            }
+            sequence.set(available);
+            waitStrategy.signalAllWhenBlocking();
+            batches++;
+            next = available + 1;
+        }
+    }
+
+    void halt() {
+        running = false;
+        waitStrategy.signalAllWhenBlocking();
+    }
+
+    private boolean isRunning() {
+        return running;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    Sequence getSequence() {
+        return sequence;
+    }
+
+    QuantileSketch getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    /**
+     * Batch and failure counts are written by the stage thread; read them after it has stopped.
+     */
+    long getBatches() {
+        return batches;
+    }
+
+    long getFailures() {
+        return failures;
+    }
+}
@@ -0,0 +1,156 @@
+package org.light.challenge.intake;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * How a stage waits for the stage in front of it. The choice trades latency
+ * against CPU: {@link #BUSY_SPIN} burns a core for the lowest latency,
+ * {@link #BLOCKING} is idle when there is no traffic.
+ */
+public interface WaitStrategy {
+    /**
+     * Waits until {@code dependency} reaches {@code sequence} and returns its
+     * current value, which may be further ahead (the batch the caller can take).
+     * Returns early, with a value below {@code sequence}, once {@code running}
+     * turns false.
+     */
+    long waitFor(long sequence, Sequence dependency, BooleanSupplier running);
+
+    /**
+     * Wakes stages parked by this strategy; called whenever a sequence advances.
+     */
+    void signalAllWhenBlocking();
+
+    /**
+     * Spins on the dependency. Lowest latency; needs a free core per stage.
+     */
+    WaitStrategy BUSY_SPIN = new WaitStrategy() {
+        @Override
+        public long waitFor(long sequence, Sequence dependency, BooleanSupplier running) {
+            long available;
+            while ((available = dependency.get()) < sequence && running.getAsBoolean()) {
+                Thread.onSpinWait();
+            }
+            return available;
+        }
+
+        @Override
+        public void signalAllWhenBlocking() {
+        }
+    };
+
+    /**
+     * Spins briefly, then yields the core between checks.
+     */
+    WaitStrategy YIELDING = new WaitStrategy() {
+        @Override
+        public long waitFor(long sequence, Sequence dependency, BooleanSupplier running) {
+            int spins = 100;
+            long available;
+            while ((available = dependency.get()) < sequence && running.getAsBoolean()) {
+                if (spins > 0) {
+                    spins--;
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+            return available;
+        }
+
+        @Override
+        public void signalAllWhenBlocking() {
+        }
+    };
+
+    /**
+     * Spins, yields, then parks for short intervals. Low CPU at some latency cost.
+     */
+    WaitStrategy SLEEPING = new WaitStrategy() {
+        @Override
+        public long waitFor(long sequence, Sequence dependency, BooleanSupplier running) {
+            int retries = 200;
+            long available;
+            while ((available = dependency.get()) < sequence && running.getAsBoolean()) {
+                if (retries > 100) {
+                    Thread.onSpinWait();
+                } else if (retries > 0) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(100_000);
+                }
+                if (retries > 0) {
+                    retries--;
+                }
+            }
+            return available;
+        }
+
+        @Override
+        public void signalAllWhenBlocking() {
+        }
+    };
+
+    /**
+     * Parks waiting stages on a condition that every sequence update signals.
+     * Idle CPU is near zero, but each hand-off pays for a lock and a wake-up.
+     */
+    final class Blocking implements WaitStrategy {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition advanced = lock.newCondition();
+
+        @Override
+        public long waitFor(long sequence, Sequence dependency, BooleanSupplier running) {
+            long available;
+            while ((available = dependency.get()) < sequence && running.getAsBoolean()) {
+                lock.lock();
+                try {
+                    if (dependency.get() < sequence) {
+                        // Bounded wait so a halt is noticed even without a signal
+                        advanced.await(10, TimeUnit.MILLISECONDS);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return dependency.get();
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return available;
+        }
+
+        @Override
+        public void signalAllWhenBlocking() {
+            lock.lock();
+            try {
+                advanced.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the strategy named {@code busy-spin}, {@code yielding},
+     * {@code sleeping} or {@code blocking}.
+     */
+    static WaitStrategy named(String name) {
+        switch (name.toLowerCase(Locale.ROOT)) {
+            case "busy-spin":
+                return BUSY_SPIN;
+            case "yielding":
+                return YIELDING;
+            case "sleeping":
+                return SLEEPING;
+            case "blocking":
+                return new Blocking();
+            default:
+                throw new IllegalArgumentException("Unknown wait strategy: " + name);
+        }
+    }
+}
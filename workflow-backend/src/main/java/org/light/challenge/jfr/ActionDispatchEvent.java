@@ -0,0 +1,25 @@
+package org.light.challenge.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for sending one approval notification, see
+ * {@link org.light.challenge.model.ApprovalAction#execute}. Digests count as
+ * one dispatch.
+ */
+@Name("org.light.challenge.ActionDispatch")
+@Label("Approval Action Dispatch")
+@Category("Workflow Approval")
+@Description("Delivery of an approval notification to an approver")
+@StackTrace(false)
+public class ActionDispatchEvent extends jdk.jfr.Event {
+    @Label("Approver Role")
+    public String approverRole;
+
+    @Label("Channel")
+    public String channel;
+}
@@ -0,0 +1,30 @@
+package org.light.challenge.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one rule evaluation in
+ * {@link org.light.challenge.engine.WorkflowEngine#matchRule}, which also
+ * backs {@code evaluateWorkflow}. The event duration is the rule scan.
+ */
+@Name("org.light.challenge.RuleEvaluation")
+@Label("Rule Evaluation")
+@Category("Workflow Approval")
+@Description("Scan of the rule set for the first rule matching an invoice")
+@StackTrace(false)
+public class RuleEvaluationEvent extends jdk.jfr.Event {
+    @Label("Rule Set Version")
+    @Description("Repository version the rules were read at")
+    public long ruleSetVersion;
+
+    @Label("Rules Scanned")
+    public int rulesScanned;
+
+    @Label("Matched Rule")
+    @Description("ID of the matching rule, or null if no rule matched")
+    public String matchedRuleId;
+}
@@ -0,0 +1,26 @@
+package org.light.challenge.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for loading a complete rule set, either the built-in
+ * rules or a {@link org.light.challenge.repository.RuleSnapshot}.
+ */
+@Name("org.light.challenge.RuleSetReload")
+@Label("Rule Set Reload")
+@Category("Workflow Approval")
+@Description("Load of a complete workflow rule set")
+public class RuleSetReloadEvent extends jdk.jfr.Event {
+    @Label("Source")
+    @Description("Snapshot path, or \"built-in\" for the default rules")
+    public String source;
+
+    @Label("Rule Count")
+    public int ruleCount;
+
+    @Label("Rule Set Version")
+    public long ruleSetVersion;
+}
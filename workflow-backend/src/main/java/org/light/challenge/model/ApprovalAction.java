@@ -1,5 +1,7 @@
 package org.light.challenge.model;
 
+import org.light.challenge.jfr.ActionDispatchEvent;
+
 /**
  * Represents the action to be taken when a workflow rule matches.
  * Contains information about who to notify and how.
@@ -27,17 +29,33 @@ public class ApprovalAction {
         return message;
     }
 
+    /**
+     * Returns a copy of this action with a different message, e.g. one that
+     * references a specific approval request.
+     */
+    public ApprovalAction withMessage(String message) {
+        return new ApprovalAction(approverRole, channel, message);
+    }
+
     /**
      * Executes the approval action by sending the notification.
      * In a real system, this would integrate with Slack/Email services.
      */
     public void execute() {
+        ActionDispatchEvent event = new ActionDispatchEvent();
+        event.begin();
         System.out.println(String.format(
             "Sending approval request to %s via %s: %s",
             approverRole.getDisplayName(),
             channel.name(),
             message
         ));
+        event.end();
+        if (event.shouldCommit()) {
+            event.approverRole = approverRole.name();
+            event.channel = channel.name();
+            event.commit();
+        }
     }
 
     @Override
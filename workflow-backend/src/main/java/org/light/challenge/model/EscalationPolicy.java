@@ -0,0 +1,79 @@
+package org.light.challenge.model;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Describes what happens when an approval request goes unanswered.
+ * Reminders are resent to the current approver on the rule's original channel;
+ * after the escalation delay the request moves to the escalation target.
+ */
+public class EscalationPolicy {
+    private final ApproverRole escalateTo;
+    private final Duration escalateAfter;
+    private final Duration remindEvery;
+
+    /**
+     * @param escalateTo    role to hand the approval to, or null to only send reminders
+     * @param escalateAfter how long the original approver has before escalation
+     * @param remindEvery   interval between reminders, or null for no reminders
+     */
+    public EscalationPolicy(ApproverRole escalateTo, Duration escalateAfter, Duration remindEvery) {
+        this.escalateTo = escalateTo;
+        this.escalateAfter = escalateAfter;
+        this.remindEvery = remindEvery;
+    }
+
+    /**
+     * Creates a policy that escalates after the given delay, with reminders in between.
+     */
+    public static EscalationPolicy escalate(ApproverRole escalateTo, Duration escalateAfter, Duration remindEvery) {
+        return new EscalationPolicy(escalateTo, escalateAfter, remindEvery);
+    }
+
+    /**
+     * Creates a policy that only sends reminders.
+     */
+    public static EscalationPolicy remindOnly(Duration remindEvery) {
+        return new EscalationPolicy(null, null, remindEvery);
+    }
+
+    public Optional<ApproverRole> getEscalateTo() {
+        return Optional.ofNullable(escalateTo);
+    }
+
+    public Duration getEscalateAfter() {
+        return escalateAfter;
+    }
+
+    public Optional<Duration> getRemindEvery() {
+        return Optional.ofNullable(remindEvery);
+    }
+
+    /**
+     * Returns when the next timer should fire for an approval created at
+     * {@code createdAt}, or 0 if nothing further is due.
+     *
+     * @param escalated whether the approval has already been escalated
+     */
+    public long nextDueAt(long createdAt, boolean escalated, long now) {
+        long next = 0;
+        if (!escalated && escalateTo != null) {
+            next = Math.max(createdAt + escalateAfter.toMillis(), now);
+        }
+        if (remindEvery != null) {
+            long reminder = now + remindEvery.toMillis();
+            next = next == 0 ? reminder : Math.min(next, reminder);
+        }
+        return next;
+    }
+
+    @Override
+    public String toString() {
+        return "EscalationPolicy{" +
+                "escalateTo=" + escalateTo +
+                ", escalateAfter=" + escalateAfter +
+                ", remindEvery=" + remindEvery +
+                '}';
+    }
+}
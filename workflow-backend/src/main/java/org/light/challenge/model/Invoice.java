@@ -1,22 +1,50 @@
 package org.light.challenge.model;
 
+import java.math.BigDecimal;
+
 /**
  * Represents an invoice that needs approval.
  * Contains all the information needed to evaluate workflow rules.
+ *
+ * The amount is held exactly as a count of minor units (see {@link Money}).
  */
 public class Invoice {
-    private final double amount;
+    private final long amountMinor;
+    private final String currency;
     private final String department;
     private final boolean requiresManagerApproval;
 
-    public Invoice(double amount, String department, boolean requiresManagerApproval) {
-        this.amount = amount;
+    public Invoice(long amountMinor, String currency, String department, boolean requiresManagerApproval) {
+        this.amountMinor = amountMinor;
+        this.currency = currency;
         this.department = department;
         this.requiresManagerApproval = requiresManagerApproval;
     }
 
-    public double getAmount() {
-        return amount;
+    /**
+     * Creates an invoice in {@link Money#DEFAULT_CURRENCY} from an amount in major units.
+     * The value is converted through its shortest decimal form, so {@code 19.99}
+     * becomes exactly 1999 minor units.
+     *
+     * @throws IllegalArgumentException if the amount has fractional minor units
+     */
+    public Invoice(double amount, String department, boolean requiresManagerApproval) {
+        this(Money.toMinor(BigDecimal.valueOf(amount)), Money.DEFAULT_CURRENCY, department, requiresManagerApproval);
+    }
+
+    public long getAmountMinor() {
+        return amountMinor;
+    }
+
+    /**
+     * Returns the exact amount in major units.
+     */
+    public BigDecimal getAmount() {
+        return Money.toMajor(amountMinor);
+    }
+
+    public String getCurrency() {
+        return currency;
     }
 
     public String getDepartment() {
@@ -30,7 +58,8 @@ public class Invoice {
     @Override
     public String toString() {
         return "Invoice{" +
-                "amount=" + amount +
+                "amount=" + Money.format(amountMinor) +
+                ", currency='" + currency + '\'' +
                 ", department='" + department + '\'' +
                 ", requiresManagerApproval=" + requiresManagerApproval +
                 '}';
@@ -0,0 +1,100 @@
+package org.light.challenge.model;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.Locale;
+
+/**
+ * Fixed-point money helpers. Amounts are held as {@code long} counts of
+ * minor units (hundredths of the currency unit, e.g. cents), so rule
+ * thresholds compare exactly with plain integer comparisons.
+ *
+ * Rule thresholds are denominated in {@link #DEFAULT_CURRENCY}, whose minor
+ * unit is a hundredth, so that is the only currency accepted: comparing, say,
+ * yen or dinar amounts against the same thresholds, or at the same scale,
+ * would route them wrongly. Other currencies are rejected until rules carry
+ * a currency of their own.
+ */
+public final class Money {
+    /** Number of decimal places held in minor units. */
+    public static final int SCALE = 2;
+    public static final String DEFAULT_CURRENCY = "USD";
+
+    private static final long MINOR_PER_MAJOR = 100;
+
+    private Money() {
+    }
+
+    /**
+     * Converts a decimal amount in major units to minor units without rounding.
+     *
+     * @throws IllegalArgumentException if the amount has more than {@link #SCALE}
+     *         decimal places or does not fit in a long
+     */
+    public static long toMinor(BigDecimal amount) {
+        try {
+            return amount.movePointRight(SCALE).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(
+                "Amount " + amount.toPlainString() + " is not a whole number of minor units", e);
+        }
+    }
+
+    /**
+     * Parses a decimal string such as {@code "10000.50"} into minor units.
+     *
+     * @throws IllegalArgumentException if the text is not an exact amount
+     */
+    public static long parseMinor(String amount) {
+        try {
+            return toMinor(new BigDecimal(amount.trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a decimal amount: " + amount, e);
+        }
+    }
+
+    /**
+     * Returns a whole amount in major units as minor units, e.g. {@code ofMajor(10000)}
+     * for 10,000.00.
+     */
+    public static long ofMajor(long major) {
+        return Math.multiplyExact(major, MINOR_PER_MAJOR);
+    }
+
+    /**
+     * Returns the exact decimal value in major units.
+     */
+    public static BigDecimal toMajor(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    /**
+     * Formats minor units as a plain decimal string, e.g. {@code "10000.00"}.
+     */
+    public static String format(long minor) {
+        return toMajor(minor).toPlainString();
+    }
+
+    /**
+     * Normalises an ISO 4217 currency code, defaulting to {@link #DEFAULT_CURRENCY}.
+     *
+     * @throws IllegalArgumentException if the code is not a known currency, or
+     *         is not the currency rule thresholds are defined in
+     */
+    public static String currencyCode(String code) {
+        if (code == null || code.trim().isEmpty()) {
+            return DEFAULT_CURRENCY;
+        }
+        String normalised;
+        try {
+            normalised = Currency.getInstance(code.trim().toUpperCase(Locale.ROOT)).getCurrencyCode();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown currency: " + code, e);
+        }
+        if (!DEFAULT_CURRENCY.equals(normalised)) {
+            throw new IllegalArgumentException("Unsupported currency " + normalised
+                + ": rule thresholds are defined in " + DEFAULT_CURRENCY);
+        }
+        return normalised;
+    }
+}
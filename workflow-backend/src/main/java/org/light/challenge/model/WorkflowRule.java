@@ -2,6 +2,7 @@ package org.light.challenge.model;
 
 import org.light.challenge.condition.Condition;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Represents a single workflow rule with conditions and an action.
@@ -12,14 +13,21 @@ public class WorkflowRule {
     private final int priority;
     private final List<Condition> conditions;
     private final ApprovalAction action;
+    private final EscalationPolicy escalation;
     private final String description;
 
     public WorkflowRule(String id, int priority, List<Condition> conditions, 
                        ApprovalAction action, String description) {
+        this(id, priority, conditions, action, null, description);
+    }
+
+    public WorkflowRule(String id, int priority, List<Condition> conditions,
+                       ApprovalAction action, EscalationPolicy escalation, String description) {
         this.id = id;
         this.priority = priority;
         this.conditions = conditions;
         this.action = action;
+        this.escalation = escalation;
         this.description = description;
     }
 
@@ -39,10 +47,24 @@ public class WorkflowRule {
         return action;
     }
 
+    /**
+     * Returns what to do if the approval request goes unanswered, if anything.
+     */
+    public Optional<EscalationPolicy> getEscalation() {
+        return Optional.ofNullable(escalation);
+    }
+
     public String getDescription() {
         return description;
     }
 
+    /**
+     * Returns a copy of this rule at a different priority.
+     */
+    public WorkflowRule withPriority(int newPriority) {
+        return new WorkflowRule(id, newPriority, conditions, action, escalation, description);
+    }
+
     /**
      * Evaluates if this rule matches the given invoice.
      * All conditions must be satisfied (AND logic).
@@ -0,0 +1,165 @@
+package org.light.challenge.notification;
+
+import io.dropwizard.lifecycle.Managed;
+import org.light.challenge.model.ApprovalAction;
+import org.light.challenge.model.ApproverRole;
+import org.light.challenge.model.NotificationChannel;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces approval notifications per (approver role, channel) into digests.
+ *
+ * The first notification for a key opens a batch; the batch is sent as a
+ * single message when its hold time elapses or when it reaches the size cap,
+ * whichever comes first. The hold time is the coalescing window, shortened
+ * by the role's latency cap if one is set. A cap of zero sends that role's
+ * notifications straight through.
+ */
+public class DigestCoalescer implements NotificationDispatcher, Managed {
+    private final NotificationDispatcher downstream;
+    private final long windowMs;
+    private final int maxBatchSize;
+    private final Map<ApproverRole, Long> latencyCapsMs;
+    private final Map<ApproverRole, Map<NotificationChannel, Batch>> batches = new EnumMap<>(ApproverRole.class);
+    private final ScheduledExecutorService timer;
+
+    /**
+     * @param downstream    where digests (and bypassed notifications) are sent
+     * @param windowMs      how long to gather notifications before sending a digest
+     * @param maxBatchSize  send the digest as soon as it holds this many notifications
+     * @param latencyCapsMs per-role upper bound on the hold time; 0 disables coalescing for the role
+     */
+    public DigestCoalescer(NotificationDispatcher downstream, long windowMs, int maxBatchSize,
+                           Map<ApproverRole, Long> latencyCapsMs) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be at least 1");
+        }
+        this.downstream = downstream;
+        this.windowMs = windowMs;
+        this.maxBatchSize = maxBatchSize;
+        this.latencyCapsMs = new EnumMap<>(ApproverRole.class);
+        this.latencyCapsMs.putAll(latencyCapsMs);
+
+        for (ApproverRole role : ApproverRole.values()) {
+            Map<NotificationChannel, Batch> byChannel = new EnumMap<>(NotificationChannel.class);
+            for (NotificationChannel channel : NotificationChannel.values()) {
+                byChannel.put(channel, new Batch(role, channel));
+            }
+            batches.put(role, byChannel);
+        }
+
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-digest");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void dispatch(ApprovalAction action) {
+        long holdMs = holdTimeFor(action.getApproverRole());
+        if (holdMs <= 0) {
+            downstream.dispatch(action);
+            return;
+        }
+        batches.get(action.getApproverRole()).get(action.getChannel()).add(action.getMessage(), holdMs);
+    }
+
+    /**
+     * Sends every open batch now.
+     */
+    public void flushAll() {
+        for (Map<NotificationChannel, Batch> byChannel : batches.values()) {
+            for (Batch batch : byChannel.values()) {
+                batch.flush();
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+    }
+
+    @Override
+    public void stop() {
+        timer.shutdownNow();
+        flushAll();
+    }
+
+    private long holdTimeFor(ApproverRole role) {
+        Long cap = latencyCapsMs.get(role);
+        return cap == null ? windowMs : Math.min(windowMs, cap);
+    }
+
+    /**
+     * Notifications gathered for one (role, channel) pair.
+     */
+    private class Batch {
+        private final ApproverRole role;
+        private final NotificationChannel channel;
+        private List<String> messages = new ArrayList<>();
+        private ScheduledFuture<?> scheduledFlush;
+
+        Batch(ApproverRole role, NotificationChannel channel) {
+            this.role = role;
+            this.channel = channel;
+        }
+
+        void add(String message, long holdMs) {
+            List<String> full = null;
+            synchronized (this) {
+                messages.add(message);
+                if (messages.size() >= maxBatchSize) {
+                    full = take();
+                } else if (scheduledFlush == null) {
+                    scheduledFlush = timer.schedule(this::flush, holdMs, TimeUnit.MILLISECONDS);
+                }
+            }
+            if (full != null) {
+                send(full);
+            }
+        }
+
+        void flush() {
+            List<String> pending;
+            synchronized (this) {
+                pending = take();
+            }
+            if (!pending.isEmpty()) {
+                send(pending);
+            }
+        }
+
+        private List<String> take() {
+            List<String> taken = messages;
+            messages = new ArrayList<>();
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+                scheduledFlush = null;
+            }
+            return taken;
+        }
+
+        private void send(List<String> pending) {
+            if (pending.size() == 1) {
+                downstream.dispatch(new ApprovalAction(role, channel, pending.get(0)));
+                return;
+            }
+            StringBuilder digest = new StringBuilder()
+                    .append(pending.size())
+                    .append(" approval requests are waiting for you:");
+            for (String message : pending) {
+                digest.append("\n  - ").append(message);
+            }
+            downstream.dispatch(new ApprovalAction(role, channel, digest.toString()));
+        }
+    }
+}
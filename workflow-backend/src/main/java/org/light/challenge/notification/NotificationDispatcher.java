@@ -0,0 +1,27 @@
+package org.light.challenge.notification;
+
+import org.light.challenge.model.ApprovalAction;
+
+/**
+ * Delivers approval notifications to approvers.
+ */
+public interface NotificationDispatcher {
+    /**
+     * Sends (or queues) the notification described by the action.
+     */
+    void dispatch(ApprovalAction action);
+
+    /**
+     * Returns a dispatcher that sends every notification immediately.
+     */
+    static NotificationDispatcher direct() {
+        return ApprovalAction::execute;
+    }
+
+    /**
+     * Returns a dispatcher that drops every notification.
+     */
+    static NotificationDispatcher discard() {
+        return action -> { };
+    }
+}
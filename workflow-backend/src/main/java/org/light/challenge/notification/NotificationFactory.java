@@ -0,0 +1,89 @@
+package org.light.challenge.notification;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
+import io.dropwizard.util.Duration;
+import org.light.challenge.model.ApproverRole;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration for approval notification delivery.
+ */
+public class NotificationFactory {
+    @JsonProperty("deliver")
+    private boolean deliver = true;
+
+    @JsonProperty("coalesce")
+    private boolean coalesce = true;
+
+    @JsonProperty("window")
+    private Duration window = Duration.seconds(30);
+
+    @JsonProperty("maxBatchSize")
+    private int maxBatchSize = 50;
+
+    @JsonProperty("latencyCaps")
+    private Map<ApproverRole, Duration> latencyCaps = new HashMap<>();
+
+    /**
+     * Whether notifications are sent; when off they are coalesced as usual and then dropped.
+     */
+    public boolean isDeliver() {
+        return deliver;
+    }
+
+    public void setDeliver(boolean deliver) {
+        this.deliver = deliver;
+    }
+
+    public boolean isCoalesce() {
+        return coalesce;
+    }
+
+    public void setCoalesce(boolean coalesce) {
+        this.coalesce = coalesce;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public Map<ApproverRole, Duration> getLatencyCaps() {
+        return latencyCaps;
+    }
+
+    public void setLatencyCaps(Map<ApproverRole, Duration> latencyCaps) {
+        this.latencyCaps = latencyCaps;
+    }
+
+    /**
+     * Creates the dispatcher; when coalescing, open digests are flushed on shutdown.
+     */
+    public NotificationDispatcher build(LifecycleEnvironment lifecycle) {
+        NotificationDispatcher direct = deliver ? NotificationDispatcher.direct() : NotificationDispatcher.discard();
+        if (!coalesce) {
+            return direct;
+        }
+        Map<ApproverRole, Long> capsMs = new EnumMap<>(ApproverRole.class);
+        latencyCaps.forEach((role, cap) -> capsMs.put(role, cap.toMilliseconds()));
+
+        DigestCoalescer coalescer = new DigestCoalescer(direct, window.toMilliseconds(), maxBatchSize, capsMs);
+        lifecycle.manage(coalescer);
+        return coalescer;
+    }
+}
@@ -0,0 +1,44 @@
+package org.light.challenge.replay;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.light.challenge.model.Invoice;
+import org.light.challenge.model.Money;
+
+import java.io.IOException;
+
+/**
+ * Parses the invoice JSON stored in {@code workflow_executions.invoice_data}
+ * and in exported replay files, e.g.
+ * {@code {"amount": 15000, "department": "marketing", "requiresManagerApproval": false}}.
+ */
+public final class InvoiceJson {
+    // Decimal amounts are kept as BigDecimal so they convert to minor units exactly
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+        .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+    private InvoiceJson() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if the record is not a valid invoice
+     */
+    public static Invoice parse(String json) {
+        JsonNode node;
+        try {
+            node = MAPPER.readTree(json);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed invoice JSON", e);
+        }
+        if (node == null || !node.path("amount").isNumber() || !node.path("department").isTextual()) {
+            throw new IllegalArgumentException("Invoice JSON needs a numeric amount and a department");
+        }
+        return new Invoice(
+            Money.toMinor(node.path("amount").decimalValue()),
+            Money.currencyCode(node.path("currency").asText(null)),
+            node.path("department").asText(),
+            node.path("requiresManagerApproval").asBoolean()
+        );
+    }
+}
@@ -0,0 +1,72 @@
+package org.light.challenge.replay;
+
+import org.light.challenge.model.Invoice;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Streams invoices straight from the {@code workflow_executions} audit table.
+ *
+ * Auto-commit is disabled and a fetch size is set so drivers that support it
+ * (e.g. PostgreSQL) use a server-side cursor instead of buffering every row.
+ * The JDBC driver must be on the classpath at runtime.
+ */
+public class JdbcReplaySource implements ReplaySource {
+    private static final String QUERY =
+        "SELECT invoice_data::text FROM workflow_executions ORDER BY executed_at";
+    private static final int FETCH_SIZE = 10_000;
+
+    private final Connection connection;
+    private final Statement statement;
+    private final ResultSet rows;
+    private long skipped;
+
+    public JdbcReplaySource(String url, String user, String password) throws IOException {
+        try {
+            this.connection = DriverManager.getConnection(url, user, password);
+            this.connection.setAutoCommit(false);
+            this.statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            this.statement.setFetchSize(FETCH_SIZE);
+            this.rows = statement.executeQuery(QUERY);
+        } catch (SQLException e) {
+            throw new IOException("Failed to query workflow_executions", e);
+        }
+    }
+
+    @Override
+    public Invoice next() throws IOException {
+        try {
+            while (rows.next()) {
+                try {
+                    return InvoiceJson.parse(rows.getString(1));
+                } catch (IllegalArgumentException e) {
+                    skipped++;
+                }
+            }
+            return null;
+        } catch (SQLException e) {
+            throw new IOException("Failed to read workflow_executions", e);
+        }
+    }
+
+    @Override
+    public long getSkipped() {
+        return skipped;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            rows.close();
+            statement.close();
+            connection.close();
+        } catch (SQLException e) {
+            throw new IOException("Failed to close replay connection", e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.light.challenge.replay;
+
+import org.light.challenge.model.Invoice;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads invoices from an exported file with one invoice JSON object per line,
+ * e.g. {@code \copy (SELECT invoice_data FROM workflow_executions) TO 'invoices.jsonl'}.
+ */
+public class JsonLinesReplaySource implements ReplaySource {
+    private final BufferedReader reader;
+    private long skipped;
+
+    public JsonLinesReplaySource(Path file) throws IOException {
+        this.reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Invoice next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            try {
+                return InvoiceJson.parse(line);
+            } catch (IllegalArgumentException e) {
+                skipped++;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public long getSkipped() {
+        return skipped;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,82 @@
+package org.light.challenge.replay;
+
+import org.light.challenge.engine.WorkflowEngine;
+import org.light.challenge.model.Invoice;
+import org.light.challenge.repository.WorkflowRepository;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Replays recorded invoices against the active and a candidate rule set to
+ * find which historical decisions a rule change would flip.
+ *
+ * The source is read sequentially in fixed-size chunks; each chunk is
+ * evaluated by a {@link ReplayTask} on a fork/join pool while the next one
+ * is read. At most {@code maxInFlightChunks} chunks are held at once, so
+ * memory stays bounded no matter how long the history is.
+ */
+public class ReplayRunner {
+    private final WorkflowEngine active;
+    private final WorkflowEngine candidate;
+    private final int parallelism;
+    private final int chunkSize;
+    private final int maxInFlightChunks;
+    private final int maxSamples;
+
+    public ReplayRunner(WorkflowRepository active, WorkflowRepository candidate,
+                        int parallelism, int chunkSize, int maxInFlightChunks, int maxSamples) {
+        this.active = new WorkflowEngine(active, false);
+        this.candidate = new WorkflowEngine(candidate, false);
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+        this.maxInFlightChunks = maxInFlightChunks;
+        this.maxSamples = maxSamples;
+    }
+
+    /**
+     * Replays every invoice in the source and returns the combined divergence counts.
+     */
+    public ReplayStats run(ReplaySource source) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        Deque<ForkJoinTask<ReplayStats>> inFlight = new ArrayDeque<>();
+        ReplayStats totals = new ReplayStats(maxSamples);
+        try {
+            Invoice[] chunk;
+            while ((chunk = readChunk(source)) != null) {
+                inFlight.add(pool.submit(new ReplayTask(chunk, 0, chunk.length, active, candidate, maxSamples)));
+                // Back-pressure: wait for the oldest chunk before reading more
+                while (inFlight.size() >= maxInFlightChunks) {
+                    totals.merge(inFlight.poll().join());
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                totals.merge(inFlight.poll().join());
+            }
+            return totals;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Invoice[] readChunk(ReplaySource source) throws IOException {
+        Invoice[] chunk = new Invoice[chunkSize];
+        int count = 0;
+        Invoice invoice;
+        while (count < chunkSize && (invoice = source.next()) != null) {
+            chunk[count++] = invoice;
+        }
+        if (count == 0) {
+            return null;
+        }
+        if (count < chunkSize) {
+            Invoice[] partial = new Invoice[count];
+            System.arraycopy(chunk, 0, partial, 0, count);
+            return partial;
+        }
+        return chunk;
+    }
+}
@@ -0,0 +1,23 @@
+package org.light.challenge.replay;
+
+import org.light.challenge.model.Invoice;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * A stream of historical invoices to replay, read one record at a time so
+ * arbitrarily large histories never have to fit in memory.
+ */
+public interface ReplaySource extends Closeable {
+    /**
+     * Returns the next recorded invoice, or null when the source is exhausted.
+     * Records that cannot be parsed are skipped and counted.
+     */
+    Invoice next() throws IOException;
+
+    /**
+     * Returns how many records were skipped because they could not be parsed.
+     */
+    long getSkipped();
+}
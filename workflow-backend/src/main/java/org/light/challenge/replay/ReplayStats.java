@@ -0,0 +1,131 @@
+package org.light.challenge.replay;
+
+import org.light.challenge.model.Invoice;
+import org.light.challenge.model.WorkflowRule;
+
+import java.io.PrintStream;
+import java.util.*;
+
+/**
+ * Divergence counts from replaying invoices against the active and candidate
+ * rule sets. Partial results from parallel tasks are combined with {@link #merge}.
+ */
+public class ReplayStats {
+    static final String NO_MATCH = "(no match)";
+
+    private final int maxSamples;
+    private long total;
+    private long divergent;
+    private final Map<String, Long> byRule = new HashMap<>();
+    private final Map<String, Long> byRole = new HashMap<>();
+    private final Map<String, List<Invoice>> samples = new HashMap<>();
+
+    /**
+     * @param maxSamples how many example invoices to keep per rule transition
+     */
+    public ReplayStats(int maxSamples) {
+        this.maxSamples = maxSamples;
+    }
+
+    /**
+     * Records the outcome of one invoice; either rule may be null when nothing matched.
+     */
+    public void record(Invoice invoice, WorkflowRule active, WorkflowRule candidate) {
+        total++;
+        String activeId = active == null ? NO_MATCH : active.getId();
+        String candidateId = candidate == null ? NO_MATCH : candidate.getId();
+        String activeRole = active == null ? NO_MATCH : active.getAction().getApproverRole().name();
+        String candidateRole = candidate == null ? NO_MATCH : candidate.getAction().getApproverRole().name();
+        if (activeId.equals(candidateId) && activeRole.equals(candidateRole)) {
+            return;
+        }
+
+        divergent++;
+        String ruleKey = activeId + " -> " + candidateId;
+        byRule.merge(ruleKey, 1L, Long::sum);
+        if (!activeRole.equals(candidateRole)) {
+            byRole.merge(activeRole + " -> " + candidateRole, 1L, Long::sum);
+        }
+        List<Invoice> examples = samples.computeIfAbsent(ruleKey, key -> new ArrayList<>());
+        if (examples.size() < maxSamples) {
+            examples.add(invoice);
+        }
+    }
+
+    /**
+     * Folds another partial result into this one.
+     */
+    public ReplayStats merge(ReplayStats other) {
+        total += other.total;
+        divergent += other.divergent;
+        other.byRule.forEach((key, count) -> byRule.merge(key, count, Long::sum));
+        other.byRole.forEach((key, count) -> byRole.merge(key, count, Long::sum));
+        other.samples.forEach((key, examples) -> {
+            List<Invoice> mine = samples.computeIfAbsent(key, k -> new ArrayList<>());
+            for (Invoice invoice : examples) {
+                if (mine.size() >= maxSamples) {
+                    break;
+                }
+                mine.add(invoice);
+            }
+        });
+        return this;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getDivergent() {
+        return divergent;
+    }
+
+    /**
+     * Divergence counts keyed by "activeRuleId -> candidateRuleId".
+     */
+    public Map<String, Long> getByRule() {
+        return Collections.unmodifiableMap(byRule);
+    }
+
+    /**
+     * Counts of decisions that change approver, keyed by "ACTIVE_ROLE -> CANDIDATE_ROLE".
+     */
+    public Map<String, Long> getByRole() {
+        return Collections.unmodifiableMap(byRole);
+    }
+
+    /**
+     * Example invoices keyed like {@link #getByRule()}.
+     */
+    public Map<String, List<Invoice>> getSamples() {
+        return Collections.unmodifiableMap(samples);
+    }
+
+    /**
+     * Prints a human-readable report, largest divergences first.
+     */
+    public void print(PrintStream out) {
+        out.println(String.format("Replayed %d invoices, %d decisions would change (%.4f%%)",
+            total, divergent, total == 0 ? 0.0 : 100.0 * divergent / total));
+
+        out.println();
+        out.println("By rule (active -> candidate):");
+        sortedByCount(byRule).forEach(entry -> {
+            out.println(String.format("  %-30s %d", entry.getKey(), entry.getValue()));
+            for (Invoice example : samples.getOrDefault(entry.getKey(), Collections.emptyList())) {
+                out.println("      e.g. " + example);
+            }
+        });
+
+        out.println();
+        out.println("By approver role (active -> candidate):");
+        sortedByCount(byRole).forEach(entry ->
+            out.println(String.format("  %-30s %d", entry.getKey(), entry.getValue())));
+    }
+
+    private static List<Map.Entry<String, Long>> sortedByCount(Map<String, Long> counts) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(counts.entrySet());
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        return entries;
+    }
+}
@@ -0,0 +1,50 @@
+package org.light.challenge.replay;
+
+import org.light.challenge.engine.WorkflowEngine;
+import org.light.challenge.model.Invoice;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork/join task that evaluates a slice of a chunk against both rule sets,
+ * splitting in half until slices are small enough to run directly.
+ */
+class ReplayTask extends RecursiveTask<ReplayStats> {
+    private static final int SEQUENTIAL_THRESHOLD = 2_048;
+
+    private final Invoice[] invoices;
+    private final int from;
+    private final int to;
+    private final WorkflowEngine active;
+    private final WorkflowEngine candidate;
+    private final int maxSamples;
+
+    ReplayTask(Invoice[] invoices, int from, int to,
+               WorkflowEngine active, WorkflowEngine candidate, int maxSamples) {
+        this.invoices = invoices;
+        this.from = from;
+        this.to = to;
+        this.active = active;
+        this.candidate = candidate;
+        this.maxSamples = maxSamples;
+    }
+
+    @Override
+    protected ReplayStats compute() {
+        if (to - from <= SEQUENTIAL_THRESHOLD) {
+            ReplayStats stats = new ReplayStats(maxSamples);
+            for (int i = from; i < to; i++) {
+                Invoice invoice = invoices[i];
+                stats.record(invoice,
+                    active.findMatchingRule(invoice).orElse(null),
+                    candidate.findMatchingRule(invoice).orElse(null));
+            }
+            return stats;
+        }
+        int middle = (from + to) >>> 1;
+        ReplayTask left = new ReplayTask(invoices, from, middle, active, candidate, maxSamples);
+        ReplayTask right = new ReplayTask(invoices, middle, to, active, candidate, maxSamples);
+        left.fork();
+        return right.compute().merge(left.join());
+    }
+}
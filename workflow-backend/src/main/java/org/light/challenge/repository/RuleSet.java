@@ -0,0 +1,35 @@
+package org.light.challenge.repository;
+
+import org.light.challenge.model.WorkflowRule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The rules of a {@link WorkflowRepository} at one version, in priority
+ * order. Immutable; every write to the repository publishes a new one.
+ */
+public final class RuleSet {
+    private final List<WorkflowRule> rules;
+    private final long version;
+
+    RuleSet(List<WorkflowRule> rules, long version) {
+        this.rules = Collections.unmodifiableList(new ArrayList<>(rules));
+        this.version = version;
+    }
+
+    /**
+     * Returns the rules in evaluation order.
+     */
+    public List<WorkflowRule> getRules() {
+        return rules;
+    }
+
+    /**
+     * Returns the repository version this rule set was published at.
+     */
+    public long getVersion() {
+        return version;
+    }
+}
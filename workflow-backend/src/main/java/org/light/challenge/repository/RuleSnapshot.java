@@ -0,0 +1,244 @@
+package org.light.challenge.repository;
+
+import org.light.challenge.condition.*;
+import org.light.challenge.model.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary snapshot of a validated rule set.
+ *
+ * Snapshots are produced at build time (see {@code RuleSnapshotBuilder}) and
+ * memory-mapped at boot, so a new instance skips building and validating the
+ * rules from scratch. Rules are stored already sorted by priority.
+ *
+ * Format (big-endian):
+ * <pre>
+ * int     magic "WRS1"
+ * int     format version
+ * int     rule count
+ * rule*   id, priority, description, action, escalation, conditions
+ * long    CRC32 of everything above
+ * </pre>
+ * Strings are an int byte length (-1 for null) followed by UTF-8 bytes.
+ * Amount thresholds are stored as long minor units (format version 2).
+ */
+public final class RuleSnapshot {
+    private static final int MAGIC = 0x57525331; // "WRS1"
+    private static final int VERSION = 2;
+
+    private static final ApproverRole[] ROLES = ApproverRole.values();
+    private static final NotificationChannel[] CHANNELS = NotificationChannel.values();
+    private static final ComparisonOperator[] OPERATORS = ComparisonOperator.values();
+    private static final ConditionType[] CONDITION_TYPES = ConditionType.values();
+
+    private RuleSnapshot() {
+    }
+
+    /**
+     * Checks that a rule set can be served: IDs and priorities are unique,
+     * every rule has an action and only built-in condition types are used.
+     *
+     * @throws IllegalArgumentException describing the first problem found
+     */
+    public static void validate(List<WorkflowRule> rules) {
+        Set<String> ids = new HashSet<>();
+        Set<Integer> priorities = new HashSet<>();
+        for (WorkflowRule rule : rules) {
+            if (rule.getId() == null || rule.getId().isEmpty()) {
+                throw new IllegalArgumentException("Rule without an id: " + rule);
+            }
+            if (!ids.add(rule.getId())) {
+                throw new IllegalArgumentException("Duplicate rule id: " + rule.getId());
+            }
+            if (!priorities.add(rule.getPriority())) {
+                throw new IllegalArgumentException("Duplicate priority " + rule.getPriority() + " on " + rule.getId());
+            }
+            if (rule.getAction() == null) {
+                throw new IllegalArgumentException("Rule " + rule.getId() + " has no action");
+            }
+            for (Condition condition : rule.getConditions()) {
+                ConditionType.of(condition);
+            }
+        }
+    }
+
+    /**
+     * Validates the rules and writes them to {@code file} in priority order.
+     */
+    public static void write(List<WorkflowRule> rules, Path file) throws IOException {
+        validate(rules);
+        List<WorkflowRule> sorted = new ArrayList<>(rules);
+        sorted.sort(Comparator.comparingInt(WorkflowRule::getPriority));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(sorted.size());
+        for (WorkflowRule rule : sorted) {
+            writeRule(out, rule);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeLong(crc.getValue());
+        out.flush();
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.write(file, bytes.toByteArray());
+    }
+
+    /**
+     * Maps the snapshot file and decodes it into rules, in priority order.
+     *
+     * @throws IOException if the file is missing, truncated or corrupt
+     */
+    public static List<WorkflowRule> read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return decode(buffer);
+        }
+    }
+
+    private static List<WorkflowRule> decode(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < 20 || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a rule snapshot");
+        }
+        int bodyLength = buffer.limit() - Long.BYTES;
+        CRC32 crc = new CRC32();
+        ByteBuffer body = buffer.duplicate();
+        body.limit(bodyLength);
+        crc.update(body);
+        if (crc.getValue() != buffer.getLong(bodyLength)) {
+            throw new IOException("Rule snapshot checksum mismatch");
+        }
+
+        buffer.position(4);
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported rule snapshot version " + version);
+        }
+        int count = buffer.getInt();
+        List<WorkflowRule> rules = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rules.add(readRule(buffer));
+        }
+        return rules;
+    }
+
+    private static void writeRule(DataOutputStream out, WorkflowRule rule) throws IOException {
+        writeString(out, rule.getId());
+        out.writeInt(rule.getPriority());
+        writeString(out, rule.getDescription());
+
+        ApprovalAction action = rule.getAction();
+        out.writeByte(action.getApproverRole().ordinal());
+        out.writeByte(action.getChannel().ordinal());
+        writeString(out, action.getMessage());
+
+        Optional<EscalationPolicy> escalation = rule.getEscalation();
+        out.writeBoolean(escalation.isPresent());
+        if (escalation.isPresent()) {
+            EscalationPolicy policy = escalation.get();
+            out.writeByte(policy.getEscalateTo().map(Enum::ordinal).orElse(-1));
+            out.writeLong(policy.getEscalateTo().isPresent() ? policy.getEscalateAfter().toMillis() : -1);
+            out.writeLong(policy.getRemindEvery().map(Duration::toMillis).orElse(-1L));
+        }
+
+        out.writeShort(rule.getConditions().size());
+        for (Condition condition : rule.getConditions()) {
+            ConditionType type = ConditionType.of(condition);
+            out.writeByte(type.ordinal());
+            switch (type) {
+                case AMOUNT_COMPARISON:
+                    AmountCondition amount = (AmountCondition) condition;
+                    out.writeByte(amount.getOperator().ordinal());
+                    out.writeLong(amount.getThresholdMinor());
+                    break;
+                case DEPARTMENT_EQUALS:
+                    writeString(out, ((DepartmentCondition) condition).getExpectedDepartment());
+                    break;
+                case MANAGER_APPROVAL_REQUIRED:
+                    out.writeBoolean(((ManagerApprovalCondition) condition).getExpectedValue());
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown condition type: " + type);
+            }
+        }
+    }
+
+    private static WorkflowRule readRule(ByteBuffer in) {
+        String id = readString(in);
+        int priority = in.getInt();
+        String description = readString(in);
+
+        ApprovalAction action = new ApprovalAction(ROLES[in.get()], CHANNELS[in.get()], readString(in));
+
+        EscalationPolicy escalation = null;
+        if (in.get() != 0) {
+            byte escalateTo = in.get();
+            long escalateAfterMs = in.getLong();
+            long remindEveryMs = in.getLong();
+            escalation = new EscalationPolicy(
+                escalateTo < 0 ? null : ROLES[escalateTo],
+                escalateAfterMs < 0 ? null : Duration.ofMillis(escalateAfterMs),
+                remindEveryMs < 0 ? null : Duration.ofMillis(remindEveryMs)
+            );
+        }
+
+        int conditionCount = in.getShort();
+        List<Condition> conditions = new ArrayList<>(conditionCount);
+        for (int i = 0; i < conditionCount; i++) {
+            ConditionType type = CONDITION_TYPES[in.get()];
+            switch (type) {
+                case AMOUNT_COMPARISON:
+                    conditions.add(new AmountCondition(OPERATORS[in.get()], in.getLong()));
+                    break;
+                case DEPARTMENT_EQUALS:
+                    conditions.add(new DepartmentCondition(readString(in)));
+                    break;
+                case MANAGER_APPROVAL_REQUIRED:
+                    conditions.add(new ManagerApprovalCondition(in.get() != 0));
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown condition type: " + type);
+            }
+        }
+        return new WorkflowRule(id, priority, conditions, action, escalation, description);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
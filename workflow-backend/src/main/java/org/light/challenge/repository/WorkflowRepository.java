@@ -1,21 +1,72 @@
 package org.light.challenge.repository;
 
 import org.light.challenge.condition.*;
+import org.light.challenge.jfr.RuleSetReloadEvent;
 import org.light.challenge.model.*;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * In-memory repository for workflow rules.
- * Initializes with the rules from the workflow diagram.
+ * Initializes with the rules from the workflow diagram, or from a prebuilt
+ * {@link RuleSnapshot}.
+ *
+ * Rules are indexed by ID in a concurrent hash map, so lookups never lock.
+ * Evaluations read an immutable, priority-ordered {@link RuleSet} that every
+ * write replaces in one volatile store, so they never lock either and always
+ * see a complete rule set: a reorder that moves several rules is seen
+ * entirely or not at all. Writes are serialized and copy the ordered list,
+ * which is cheap next to how rarely rules change. Every write bumps the
+ * repository version and stamps the written rule with it, which the rule API
+ * uses as ETags.
  */
 public class WorkflowRepository {
-    private final List<WorkflowRule> rules;
+    private final Map<String, VersionedRule> byId = new ConcurrentHashMap<>();
+    // Guarded by this; readers use the published rule set
+    private final NavigableMap<Integer, WorkflowRule> byPriority = new TreeMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private volatile RuleSet current = new RuleSet(Collections.emptyList(), 0);
 
     public WorkflowRepository() {
-        this.rules = new ArrayList<>();
-        initializeWorkflowRules();
+        RuleSetReloadEvent event = new RuleSetReloadEvent();
+        event.begin();
+        synchronized (this) {
+            initializeWorkflowRules();
+            publish();
+        }
+        commitReload(event, "built-in");
+    }
+
+    /**
+     * Creates a repository holding exactly the given rules.
+     *
+     * @throws IllegalArgumentException if two rules share an ID or a priority
+     */
+    public WorkflowRepository(List<WorkflowRule> rules) {
+        synchronized (this) {
+            for (WorkflowRule rule : rules) {
+                insert(rule);
+            }
+            publish();
+        }
+    }
+
+    /**
+     * Creates a repository from a rule snapshot produced at build time.
+     */
+    public static WorkflowRepository fromSnapshot(Path snapshot) throws IOException {
+        RuleSetReloadEvent event = new RuleSetReloadEvent();
+        event.begin();
+        List<WorkflowRule> rules = RuleSnapshot.read(snapshot);
+        WorkflowRepository repository = new WorkflowRepository(rules);
+        repository.commitReload(event, snapshot.toString());
+        System.out.println("Loaded " + rules.size() + " workflow rules from snapshot " + snapshot);
+        return repository;
     }
 
     /**
@@ -32,14 +83,18 @@ public class WorkflowRepository {
      * 
      * 3. If amount <= 5000:
      *    - Finance Team via Slack
+     *
+     * Unanswered requests get a daily reminder; Finance Manager requests
+     * escalate to the CFO after 48h, Finance Team requests to the Finance
+     * Manager after 72h.
      */
     private void initializeWorkflowRules() {
         // PRIORITY 1: Amount > 10000 AND Department = Marketing → CMO via Email
-        rules.add(new WorkflowRule(
+        insert(new WorkflowRule(
             "rule-1",
             1,
             Arrays.asList(
-                new AmountCondition(ComparisonOperator.GREATER_THAN, 10000),
+                new AmountCondition(ComparisonOperator.GREATER_THAN, Money.ofMajor(10000)),
                 new DepartmentCondition("marketing")
             ),
             new ApprovalAction(
@@ -47,15 +102,16 @@ public class WorkflowRepository {
                 NotificationChannel.EMAIL,
                 "High value marketing invoice requires CMO approval"
             ),
+            EscalationPolicy.remindOnly(Duration.ofHours(24)),
             "Amount > 10000 AND Marketing Department → CMO via Email"
         ));
 
         // PRIORITY 2: Amount > 10000 AND Department != Marketing → CFO via Slack
-        rules.add(new WorkflowRule(
+        insert(new WorkflowRule(
             "rule-2",
             2,
             Arrays.asList(
-                new AmountCondition(ComparisonOperator.GREATER_THAN, 10000)
+                new AmountCondition(ComparisonOperator.GREATER_THAN, Money.ofMajor(10000))
                 // No department condition = applies to all non-marketing (handled by priority)
             ),
             new ApprovalAction(
@@ -63,16 +119,17 @@ public class WorkflowRepository {
                 NotificationChannel.SLACK,
                 "High value invoice requires CFO approval"
             ),
+            EscalationPolicy.remindOnly(Duration.ofHours(24)),
             "Amount > 10000 → CFO via Slack"
         ));
 
         // PRIORITY 3: Amount > 5000 AND <= 10000 AND Requires Manager Approval → Finance Manager via Email
-        rules.add(new WorkflowRule(
+        insert(new WorkflowRule(
             "rule-3",
             3,
             Arrays.asList(
-                new AmountCondition(ComparisonOperator.GREATER_THAN, 5000),
-                new AmountCondition(ComparisonOperator.LESS_THAN_OR_EQUAL, 10000),
+                new AmountCondition(ComparisonOperator.GREATER_THAN, Money.ofMajor(5000)),
+                new AmountCondition(ComparisonOperator.LESS_THAN_OR_EQUAL, Money.ofMajor(10000)),
                 new ManagerApprovalCondition(true)
             ),
             new ApprovalAction(
@@ -80,16 +137,17 @@ public class WorkflowRepository {
                 NotificationChannel.EMAIL,
                 "Invoice requires Finance Manager approval"
             ),
+            EscalationPolicy.escalate(ApproverRole.CFO, Duration.ofHours(48), Duration.ofHours(24)),
             "5000 < Amount <= 10000 AND Requires Manager Approval → Finance Manager via Email"
         ));
 
         // PRIORITY 4: Amount > 5000 AND <= 10000 AND Does NOT Require Manager Approval → Finance Team via Slack
-        rules.add(new WorkflowRule(
+        insert(new WorkflowRule(
             "rule-4",
             4,
             Arrays.asList(
-                new AmountCondition(ComparisonOperator.GREATER_THAN, 5000),
-                new AmountCondition(ComparisonOperator.LESS_THAN_OR_EQUAL, 10000),
+                new AmountCondition(ComparisonOperator.GREATER_THAN, Money.ofMajor(5000)),
+                new AmountCondition(ComparisonOperator.LESS_THAN_OR_EQUAL, Money.ofMajor(10000)),
                 new ManagerApprovalCondition(false)
             ),
             new ApprovalAction(
@@ -97,57 +155,198 @@ public class WorkflowRepository {
                 NotificationChannel.SLACK,
                 "Invoice can be approved by any Finance Team member"
             ),
+            EscalationPolicy.escalate(ApproverRole.FINANCE_MANAGER, Duration.ofHours(72), Duration.ofHours(24)),
             "5000 < Amount <= 10000 AND No Manager Approval Required → Finance Team via Slack"
         ));
 
         // PRIORITY 5: Amount <= 5000 → Finance Team via Slack (catch-all for small amounts)
-        rules.add(new WorkflowRule(
+        insert(new WorkflowRule(
             "rule-5",
             5,
             Arrays.asList(
-                new AmountCondition(ComparisonOperator.LESS_THAN_OR_EQUAL, 5000)
+                new AmountCondition(ComparisonOperator.LESS_THAN_OR_EQUAL, Money.ofMajor(5000))
             ),
             new ApprovalAction(
                 ApproverRole.FINANCE_TEAM,
                 NotificationChannel.SLACK,
                 "Standard invoice approval by Finance Team"
             ),
+            EscalationPolicy.escalate(ApproverRole.FINANCE_MANAGER, Duration.ofHours(72), Duration.ofHours(24)),
             "Amount <= 5000 → Finance Team via Slack"
         ));
 
-        System.out.println("Initialized " + rules.size() + " workflow rules");
+        System.out.println("Initialized " + byId.size() + " workflow rules");
     }
 
     /**
      * Returns all rules sorted by priority (ascending order).
      */
     public List<WorkflowRule> getRulesByPriority() {
-        return rules.stream()
-                .sorted(Comparator.comparingInt(WorkflowRule::getPriority))
-                .collect(Collectors.toList());
+        return new ArrayList<>(current.getRules());
+    }
+
+    /**
+     * Returns the current rules in priority order, read-only and without
+     * copying, for evaluation loops. The list does not change once returned.
+     */
+    public List<WorkflowRule> rulesInPriorityOrder() {
+        return current.getRules();
+    }
+
+    /**
+     * Returns the current rule set together with the version it was published at.
+     */
+    public RuleSet snapshot() {
+        return current;
     }
 
     /**
      * Returns a rule by ID.
      */
     public Optional<WorkflowRule> getRuleById(String id) {
-        return rules.stream()
-                .filter(rule -> rule.getId().equals(id))
-                .findFirst();
+        VersionedRule entry = byId.get(id);
+        return entry == null ? Optional.empty() : Optional.of(entry.rule);
+    }
+
+    /**
+     * Returns the repository version at which the rule was last written, or -1 if unknown.
+     */
+    public long getRuleVersion(String id) {
+        VersionedRule entry = byId.get(id);
+        return entry == null ? -1 : entry.version;
+    }
+
+    /**
+     * Returns the version of the rule set as a whole; it changes on every write.
+     */
+    public long getVersion() {
+        return version.get();
     }
 
     /**
      * Adds a new rule to the repository.
      * In a real system, this would persist to a database.
+     *
+     * @throws IllegalArgumentException if the ID or priority is already taken
      */
-    public void addRule(WorkflowRule rule) {
-        rules.add(rule);
+    public synchronized void addRule(WorkflowRule rule) {
+        insert(rule);
+        publish();
+    }
+
+    /**
+     * Replaces an existing rule, possibly at a new priority.
+     *
+     * @return the previous version of the rule, or empty if there is no rule with that ID
+     * @throws IllegalArgumentException if the new priority is held by another rule
+     */
+    public synchronized Optional<WorkflowRule> updateRule(WorkflowRule rule) {
+        VersionedRule previous = byId.get(rule.getId());
+        if (previous == null) {
+            return Optional.empty();
+        }
+        checkPriorityFree(rule.getPriority(), rule.getId());
+        byPriority.remove(previous.rule.getPriority(), previous.rule);
+        put(rule);
+        publish();
+        return Optional.of(previous.rule);
+    }
+
+    /**
+     * Removes a rule.
+     *
+     * @return the removed rule, or empty if there is no rule with that ID
+     */
+    public synchronized Optional<WorkflowRule> deleteRule(String id) {
+        VersionedRule removed = byId.remove(id);
+        if (removed == null) {
+            return Optional.empty();
+        }
+        byPriority.remove(removed.rule.getPriority(), removed.rule);
+        version.incrementAndGet();
+        publish();
+        return Optional.of(removed.rule);
+    }
+
+    /**
+     * Reassigns priorities so the rules are evaluated in the given order,
+     * numbering them 1, 2, 3, ... Only rules whose priority changes are rewritten.
+     *
+     * @param orderedIds every rule ID, each exactly once
+     * @throws IllegalArgumentException if the IDs are not exactly the current rules
+     */
+    public synchronized void reorder(List<String> orderedIds) {
+        if (orderedIds.size() != byId.size() || !byId.keySet().containsAll(orderedIds)
+                || new HashSet<>(orderedIds).size() != orderedIds.size()) {
+            throw new IllegalArgumentException("Reorder must list every rule id exactly once");
+        }
+        Map<WorkflowRule, Integer> moved = new LinkedHashMap<>();
+        for (int i = 0; i < orderedIds.size(); i++) {
+            WorkflowRule rule = byId.get(orderedIds.get(i)).rule;
+            if (rule.getPriority() != i + 1) {
+                moved.put(rule, i + 1);
+            }
+        }
+        // A moved rule's new slot is either free or the old slot of another moved
+        // rule, so unlink all old slots first and then fill the new ones
+        moved.keySet().forEach(rule -> byPriority.remove(rule.getPriority(), rule));
+        moved.forEach((rule, priority) -> put(rule.withPriority(priority)));
+        publish();
     }
 
     /**
      * Returns all rules.
      */
     public List<WorkflowRule> getAllRules() {
-        return new ArrayList<>(rules);
+        return getRulesByPriority();
+    }
+
+    private void commitReload(RuleSetReloadEvent event, String source) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.source = source;
+            event.ruleCount = byId.size();
+            event.ruleSetVersion = version.get();
+            event.commit();
+        }
+    }
+
+    private void insert(WorkflowRule rule) {
+        if (byId.containsKey(rule.getId())) {
+            throw new IllegalArgumentException("A rule with id " + rule.getId() + " already exists");
+        }
+        checkPriorityFree(rule.getPriority(), rule.getId());
+        put(rule);
+    }
+
+    /**
+     * Makes the rules written so far visible to evaluations, all at once.
+     */
+    private void publish() {
+        current = new RuleSet(new ArrayList<>(byPriority.values()), version.get());
+    }
+
+    private void checkPriorityFree(int priority, String id) {
+        WorkflowRule holder = byPriority.get(priority);
+        if (holder != null && !holder.getId().equals(id)) {
+            throw new IllegalArgumentException(
+                "Priority " + priority + " is already used by rule " + holder.getId());
+        }
+    }
+
+    private void put(WorkflowRule rule) {
+        long written = version.incrementAndGet();
+        byId.put(rule.getId(), new VersionedRule(rule, written));
+        byPriority.put(rule.getPriority(), rule);
+    }
+
+    private static final class VersionedRule {
+        final WorkflowRule rule;
+        final long version;
+
+        VersionedRule(WorkflowRule rule, long version) {
+            this.rule = rule;
+            this.version = version;
+        }
     }
 }
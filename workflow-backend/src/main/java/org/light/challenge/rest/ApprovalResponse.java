@@ -0,0 +1,115 @@
+package org.light.challenge.rest;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.light.challenge.approval.PendingApproval;
+import org.light.challenge.model.Money;
+
+import java.math.BigDecimal;
+
+/**
+ * Response DTO describing a tracked approval request.
+ */
+public class ApprovalResponse {
+    @JsonProperty("success")
+    private boolean success;
+
+    @JsonProperty("approvalId")
+    private long approvalId;
+
+    @JsonProperty("state")
+    private String state;
+
+    @JsonProperty("ruleId")
+    private String ruleId;
+
+    @JsonProperty("approverRole")
+    private String approverRole;
+
+    @JsonProperty("channel")
+    private String channel;
+
+    @JsonProperty("amount")
+    private BigDecimal amount;
+
+    @JsonProperty("currency")
+    private String currency;
+
+    @JsonProperty("department")
+    private String department;
+
+    @JsonProperty("requiresManagerApproval")
+    private boolean requiresManagerApproval;
+
+    @JsonProperty("error")
+    private String error;
+
+    // Default constructor for Jackson
+    public ApprovalResponse() {
+    }
+
+    // Success response constructor
+    public ApprovalResponse(PendingApproval approval) {
+        this.success = true;
+        this.approvalId = approval.getId();
+        this.state = approval.getState().name();
+        this.ruleId = approval.getRuleId();
+        this.approverRole = approval.getApproverRole().name();
+        this.channel = approval.getChannel().name();
+        this.amount = Money.toMajor(approval.getAmountMinor());
+        this.currency = approval.getCurrency();
+        this.department = approval.getDepartment();
+        this.requiresManagerApproval = approval.isRequiresManagerApproval();
+    }
+
+    // Error response constructor
+    public static ApprovalResponse error(String errorMessage) {
+        ApprovalResponse response = new ApprovalResponse();
+        response.success = false;
+        response.error = errorMessage;
+        return response;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public long getApprovalId() {
+        return approvalId;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public String getRuleId() {
+        return ruleId;
+    }
+
+    public String getApproverRole() {
+        return approverRole;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public boolean isRequiresManagerApproval() {
+        return requiresManagerApproval;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,33 @@
+package org.light.challenge.rest;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import org.light.challenge.model.Money;
+
+import java.io.IOException;
+
+/**
+ * Reads a JSON amount such as {@code 15000.50} (or {@code "15000.50"}) straight
+ * from its source text into minor units, so it never passes through a double.
+ * Amounts with fractional minor units are rejected with 400 Bad Request.
+ */
+public class MinorUnitsDeserializer extends JsonDeserializer<Long> {
+
+    @Override
+    public Long deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT
+                && token != JsonToken.VALUE_STRING) {
+            return (Long) context.handleUnexpectedToken(Long.class, parser);
+        }
+        String text = parser.getText();
+        try {
+            return Money.parseMinor(text);
+        } catch (IllegalArgumentException e) {
+            throw InvalidFormatException.from(parser, e.getMessage(), text, Long.class);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package org.light.challenge.rest;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.light.challenge.condition.*;
+import org.light.challenge.model.Money;
+
+import java.math.BigDecimal;
+
+/**
+ * JSON form of a rule condition. Which fields apply depends on {@code type}:
+ * <pre>
+ * {"type": "AMOUNT_COMPARISON", "operator": "GREATER_THAN", "amount": 10000.00}
+ * {"type": "DEPARTMENT_EQUALS", "department": "marketing"}
+ * {"type": "MANAGER_APPROVAL_REQUIRED", "required": true}
+ * </pre>
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RuleConditionDto {
+    @JsonProperty("type")
+    private ConditionType type;
+
+    @JsonProperty("operator")
+    private ComparisonOperator operator;
+
+    @JsonProperty("amount")
+    private BigDecimal amount;
+
+    @JsonProperty("department")
+    private String department;
+
+    @JsonProperty("required")
+    private Boolean required;
+
+    // Default constructor for Jackson
+    public RuleConditionDto() {
+    }
+
+    public RuleConditionDto(Condition condition) {
+        this.type = ConditionType.of(condition);
+        switch (type) {
+            case AMOUNT_COMPARISON:
+                AmountCondition amountCondition = (AmountCondition) condition;
+                this.operator = amountCondition.getOperator();
+                this.amount = Money.toMajor(amountCondition.getThresholdMinor());
+                break;
+            case DEPARTMENT_EQUALS:
+                this.department = ((DepartmentCondition) condition).getExpectedDepartment();
+                break;
+            case MANAGER_APPROVAL_REQUIRED:
+                this.required = ((ManagerApprovalCondition) condition).getExpectedValue();
+                break;
+            default:
+                throw new IllegalStateException("Unknown condition type: " + type);
+        }
+    }
+
+    /**
+     * Builds the condition this DTO describes.
+     *
+     * @throws IllegalArgumentException if a field required by the type is missing
+     */
+    public Condition toCondition() {
+        if (type == null) {
+            throw new IllegalArgumentException("Condition type is required");
+        }
+        switch (type) {
+            case AMOUNT_COMPARISON:
+                if (operator == null || amount == null) {
+                    throw new IllegalArgumentException("Amount conditions need an operator and an amount");
+                }
+                return new AmountCondition(operator, Money.toMinor(amount));
+            case DEPARTMENT_EQUALS:
+                if (department == null || department.trim().isEmpty()) {
+                    throw new IllegalArgumentException("Department conditions need a department");
+                }
+                return new DepartmentCondition(department);
+            case MANAGER_APPROVAL_REQUIRED:
+                if (required == null) {
+                    throw new IllegalArgumentException("Manager approval conditions need 'required'");
+                }
+                return new ManagerApprovalCondition(required);
+            default:
+                throw new IllegalArgumentException("Unsupported condition type: " + type);
+        }
+    }
+
+    public ConditionType getType() {
+        return type;
+    }
+
+    public void setType(ConditionType type) {
+        this.type = type;
+    }
+
+    public ComparisonOperator getOperator() {
+        return operator;
+    }
+
+    public void setOperator(ComparisonOperator operator) {
+        this.operator = operator;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+
+    public Boolean getRequired() {
+        return required;
+    }
+
+    public void setRequired(Boolean required) {
+        this.required = required;
+    }
+}
@@ -0,0 +1,215 @@
+package org.light.challenge.rest;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.light.challenge.condition.Condition;
+import org.light.challenge.model.ApprovalAction;
+import org.light.challenge.model.ApproverRole;
+import org.light.challenge.model.EscalationPolicy;
+import org.light.challenge.model.NotificationChannel;
+import org.light.challenge.model.WorkflowRule;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JSON form of a workflow rule, used by the rule management API.
+ *
+ * Escalation delays are ISO-8601 durations, e.g. {@code "PT48H"}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RuleDto {
+    @JsonProperty("id")
+    private String id;
+
+    @JsonProperty("priority")
+    private Integer priority;
+
+    @JsonProperty("description")
+    private String description;
+
+    @JsonProperty("conditions")
+    private List<RuleConditionDto> conditions = new ArrayList<>();
+
+    @JsonProperty("approverRole")
+    private ApproverRole approverRole;
+
+    @JsonProperty("channel")
+    private NotificationChannel channel;
+
+    @JsonProperty("message")
+    private String message;
+
+    @JsonProperty("escalateTo")
+    private ApproverRole escalateTo;
+
+    @JsonProperty("escalateAfter")
+    private String escalateAfter;
+
+    @JsonProperty("remindEvery")
+    private String remindEvery;
+
+    // Set on responses only; the rule's ETag version
+    @JsonProperty("version")
+    private Long version;
+
+    // Default constructor for Jackson
+    public RuleDto() {
+    }
+
+    public RuleDto(WorkflowRule rule, long version) {
+        this.id = rule.getId();
+        this.priority = rule.getPriority();
+        this.description = rule.getDescription();
+        for (Condition condition : rule.getConditions()) {
+            this.conditions.add(new RuleConditionDto(condition));
+        }
+        this.approverRole = rule.getAction().getApproverRole();
+        this.channel = rule.getAction().getChannel();
+        this.message = rule.getAction().getMessage();
+        rule.getEscalation().ifPresent(policy -> {
+            this.escalateTo = policy.getEscalateTo().orElse(null);
+            this.escalateAfter = policy.getEscalateAfter() == null ? null : policy.getEscalateAfter().toString();
+            this.remindEvery = policy.getRemindEvery().map(Duration::toString).orElse(null);
+        });
+        this.version = version;
+    }
+
+    /**
+     * Builds the rule this DTO describes, using {@code ruleId} as its ID.
+     *
+     * @throws IllegalArgumentException if the rule is incomplete or malformed
+     */
+    public WorkflowRule toRule(String ruleId) {
+        if (ruleId == null || ruleId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Rule id is required");
+        }
+        if (priority == null || priority < 1) {
+            throw new IllegalArgumentException("Priority must be a positive number");
+        }
+        if (approverRole == null || channel == null) {
+            throw new IllegalArgumentException("approverRole and channel are required");
+        }
+        List<Condition> built = new ArrayList<>();
+        if (conditions != null) {
+            for (RuleConditionDto condition : conditions) {
+                built.add(condition.toCondition());
+            }
+        }
+        ApprovalAction action = new ApprovalAction(approverRole, channel, message);
+        return new WorkflowRule(ruleId, priority, built, action, buildEscalation(), description);
+    }
+
+    private EscalationPolicy buildEscalation() {
+        Duration after = parseDuration("escalateAfter", escalateAfter);
+        Duration remind = parseDuration("remindEvery", remindEvery);
+        if (escalateTo == null && after == null && remind == null) {
+            return null;
+        }
+        if ((escalateTo == null) != (after == null)) {
+            throw new IllegalArgumentException("escalateTo and escalateAfter must be given together");
+        }
+        return new EscalationPolicy(escalateTo, after, remind);
+    }
+
+    private static Duration parseDuration(String field, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            Duration duration = Duration.parse(value);
+            if (duration.isNegative() || duration.isZero()) {
+                throw new IllegalArgumentException(field + " must be positive");
+            }
+            return duration;
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(field + " must be an ISO-8601 duration such as PT48H");
+        }
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Integer getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Integer priority) {
+        this.priority = priority;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public List<RuleConditionDto> getConditions() {
+        return conditions;
+    }
+
+    public void setConditions(List<RuleConditionDto> conditions) {
+        this.conditions = conditions;
+    }
+
+    public ApproverRole getApproverRole() {
+        return approverRole;
+    }
+
+    public void setApproverRole(ApproverRole approverRole) {
+        this.approverRole = approverRole;
+    }
+
+    public NotificationChannel getChannel() {
+        return channel;
+    }
+
+    public void setChannel(NotificationChannel channel) {
+        this.channel = channel;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public ApproverRole getEscalateTo() {
+        return escalateTo;
+    }
+
+    public void setEscalateTo(ApproverRole escalateTo) {
+        this.escalateTo = escalateTo;
+    }
+
+    public String getEscalateAfter() {
+        return escalateAfter;
+    }
+
+    public void setEscalateAfter(String escalateAfter) {
+        this.escalateAfter = escalateAfter;
+    }
+
+    public String getRemindEvery() {
+        return remindEvery;
+    }
+
+    public void setRemindEvery(String remindEvery) {
+        this.remindEvery = remindEvery;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+}
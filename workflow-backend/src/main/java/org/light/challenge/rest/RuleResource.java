@@ -0,0 +1,260 @@
+package org.light.challenge.rest;
+
+import org.light.challenge.impact.ApprovalRerouter;
+import org.light.challenge.model.WorkflowRule;
+import org.light.challenge.repository.WorkflowRepository;
+
+import javax.ws.rs.*;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * REST resource for managing workflow rules at runtime.
+ *
+ * Every response carries an ETag: {@code "rules-<version>"} for the rule set
+ * and {@code "<id>-<version>"} for a single rule. Clients polling with
+ * If-None-Match get {@code 304 Not Modified} while nothing changed, and
+ * updates or deletes sent with If-Match fail with {@code 412} if the rule was
+ * changed in the meantime.
+ *
+ * Every change queues re-routing of the pending approvals it affects, which
+ * runs in the background in commit order. Responses carry its sequence number
+ * as {@code reroute}; the reports are listed by {@code GET /rules/reroutes}.
+ */
+@Path("/rules")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class RuleResource {
+
+    private final WorkflowRepository repository;
+    private final ApprovalRerouter rerouter;
+
+    public RuleResource(WorkflowRepository repository, ApprovalRerouter rerouter) {
+        this.repository = repository;
+        this.rerouter = rerouter;
+    }
+
+    /**
+     * Lists all rules in evaluation order.
+     *
+     * GET /rules
+     */
+    @GET
+    public Response listRules(@Context Request request) {
+        // Read the version first so the tag can only understate the content
+        long version = repository.getVersion();
+        EntityTag tag = new EntityTag("rules-" + version);
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(tag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+        return ruleList(version);
+    }
+
+    /**
+     * Lists how pending approvals were re-routed by the most recent rule
+     * changes, newest first.
+     *
+     * GET /rules/reroutes
+     */
+    @GET
+    @Path("/reroutes")
+    public Response listReroutes() {
+        return Response.ok(rerouter.getRecentReports()).build();
+    }
+
+    /**
+     * Returns a single rule.
+     *
+     * GET /rules/{id}
+     */
+    @GET
+    @Path("/{id}")
+    public Response getRule(@PathParam("id") String id, @Context Request request) {
+        long version = repository.getRuleVersion(id);
+        Optional<WorkflowRule> rule = repository.getRuleById(id);
+        if (!rule.isPresent()) {
+            return ruleNotFound(id);
+        }
+        EntityTag tag = ruleTag(id, version);
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(tag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+        return Response.ok(RuleResponse.of(new RuleDto(rule.get(), version))).tag(tag).build();
+    }
+
+    /**
+     * Creates a rule. The ID and priority must not be in use.
+     *
+     * POST /rules
+     */
+    @POST
+    public Response createRule(RuleDto body) {
+        if (body == null) {
+            return badRequest("Request body is required");
+        }
+        WorkflowRule rule;
+        try {
+            rule = body.toRule(body.getId());
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        }
+        long reroute;
+        synchronized (repository) {
+            List<WorkflowRule> before = repository.getRulesByPriority();
+            try {
+                repository.addRule(rule);
+            } catch (IllegalArgumentException e) {
+                return conflict(e.getMessage());
+            }
+            reroute = rerouter.submit("POST " + rule.getId(), before, repository.getRulesByPriority());
+        }
+        long version = repository.getRuleVersion(rule.getId());
+        return Response.created(URI.create("/rules/" + rule.getId()))
+                .tag(ruleTag(rule.getId(), version))
+                .entity(RuleResponse.of(new RuleDto(rule, version)).withReroute(reroute))
+                .build();
+    }
+
+    /**
+     * Replaces a rule. Honours If-Match.
+     *
+     * PUT /rules/{id}
+     */
+    @PUT
+    @Path("/{id}")
+    public Response updateRule(@PathParam("id") String id, RuleDto body, @Context Request request) {
+        if (body == null) {
+            return badRequest("Request body is required");
+        }
+        if (body.getId() != null && !body.getId().equals(id)) {
+            return badRequest("Rule id in the body does not match the path");
+        }
+        WorkflowRule rule;
+        try {
+            rule = body.toRule(id);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        }
+        // Repository writes lock the repository, so holding it makes the If-Match check and the write atomic,
+        // and re-routes are queued in the order the changes were made
+        long reroute;
+        synchronized (repository) {
+            long current = repository.getRuleVersion(id);
+            if (current < 0) {
+                return ruleNotFound(id);
+            }
+            Response.ResponseBuilder failed = request.evaluatePreconditions(ruleTag(id, current));
+            if (failed != null) {
+                return failed.build();
+            }
+            List<WorkflowRule> before = repository.getRulesByPriority();
+            try {
+                repository.updateRule(rule);
+            } catch (IllegalArgumentException e) {
+                return conflict(e.getMessage());
+            }
+            reroute = rerouter.submit("PUT " + id, before, repository.getRulesByPriority());
+        }
+        long version = repository.getRuleVersion(id);
+        return Response.ok(RuleResponse.of(new RuleDto(rule, version)).withReroute(reroute))
+                .tag(ruleTag(id, version))
+                .build();
+    }
+
+    /**
+     * Deletes a rule. Honours If-Match.
+     *
+     * DELETE /rules/{id}
+     */
+    @DELETE
+    @Path("/{id}")
+    public Response deleteRule(@PathParam("id") String id, @Context Request request) {
+        synchronized (repository) {
+            long current = repository.getRuleVersion(id);
+            if (current < 0) {
+                return ruleNotFound(id);
+            }
+            Response.ResponseBuilder failed = request.evaluatePreconditions(ruleTag(id, current));
+            if (failed != null) {
+                return failed.build();
+            }
+            List<WorkflowRule> before = repository.getRulesByPriority();
+            repository.deleteRule(id);
+            rerouter.submit("DELETE " + id, before, repository.getRulesByPriority());
+        }
+        return Response.noContent().build();
+    }
+
+    /**
+     * Sets the evaluation order. The body lists every rule ID once, highest
+     * priority first; priorities are renumbered 1, 2, 3, ...
+     *
+     * POST /rules/reorder
+     * Body: ["rule-2", "rule-1", "rule-3", "rule-4", "rule-5"]
+     */
+    @POST
+    @Path("/reorder")
+    public Response reorderRules(List<String> orderedIds) {
+        if (orderedIds == null) {
+            return badRequest("Request body is required");
+        }
+        long reroute;
+        long version;
+        synchronized (repository) {
+            List<WorkflowRule> before = repository.getRulesByPriority();
+            try {
+                repository.reorder(orderedIds);
+            } catch (IllegalArgumentException e) {
+                return badRequest(e.getMessage());
+            }
+            reroute = rerouter.submit("reorder", before, repository.getRulesByPriority());
+            version = repository.getVersion();
+        }
+        return ruleList(version, reroute);
+    }
+
+    private Response ruleList(long version) {
+        return ruleList(version, null);
+    }
+
+    private Response ruleList(long version, Long reroute) {
+        List<RuleDto> rules = new ArrayList<>();
+        for (WorkflowRule rule : repository.rulesInPriorityOrder()) {
+            rules.add(new RuleDto(rule, repository.getRuleVersion(rule.getId())));
+        }
+        return Response.ok(RuleResponse.of(rules, version).withReroute(reroute))
+                .tag(new EntityTag("rules-" + version))
+                .build();
+    }
+
+    private static EntityTag ruleTag(String id, long version) {
+        return new EntityTag(id + "-" + version);
+    }
+
+    private Response ruleNotFound(String id) {
+        return Response.status(Response.Status.NOT_FOUND)
+                .entity(RuleResponse.error("No rule found with id " + id))
+                .build();
+    }
+
+    private Response badRequest(String message) {
+        return Response.status(Response.Status.BAD_REQUEST)
+                .entity(RuleResponse.error(message))
+                .build();
+    }
+
+    private Response conflict(String message) {
+        return Response.status(Response.Status.CONFLICT)
+                .entity(RuleResponse.error(message))
+                .build();
+    }
+}
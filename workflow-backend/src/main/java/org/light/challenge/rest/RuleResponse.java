@@ -0,0 +1,91 @@
+package org.light.challenge.rest;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Response DTO for the rule management API: a single rule, the whole
+ * rule set with its version, or an error.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RuleResponse {
+    @JsonProperty("success")
+    private boolean success;
+
+    @JsonProperty("version")
+    private Long version;
+
+    @JsonProperty("rule")
+    private RuleDto rule;
+
+    @JsonProperty("rules")
+    private List<RuleDto> rules;
+
+    @JsonProperty("reroute")
+    private Long reroute;
+
+    @JsonProperty("error")
+    private String error;
+
+    // Default constructor for Jackson
+    public RuleResponse() {
+    }
+
+    public static RuleResponse of(RuleDto rule) {
+        RuleResponse response = new RuleResponse();
+        response.success = true;
+        response.rule = rule;
+        return response;
+    }
+
+    public static RuleResponse of(List<RuleDto> rules, long version) {
+        RuleResponse response = new RuleResponse();
+        response.success = true;
+        response.rules = rules;
+        response.version = version;
+        return response;
+    }
+
+    /**
+     * Attaches the sequence number of the re-routing queued by this change,
+     * which identifies its report in {@code GET /rules/reroutes}.
+     */
+    public RuleResponse withReroute(Long reroute) {
+        this.reroute = reroute;
+        return this;
+    }
+
+    // Error response constructor
+    public static RuleResponse error(String errorMessage) {
+        RuleResponse response = new RuleResponse();
+        response.success = false;
+        response.error = errorMessage;
+        return response;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public RuleDto getRule() {
+        return rule;
+    }
+
+    public List<RuleDto> getRules() {
+        return rules;
+    }
+
+    public Long getReroute() {
+        return reroute;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
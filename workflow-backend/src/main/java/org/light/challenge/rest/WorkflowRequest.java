@@ -1,13 +1,20 @@
 package org.light.challenge.rest;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
 /**
  * Request DTO for workflow execution.
  */
 public class WorkflowRequest {
+    // Decimal amount in the JSON, held as exact minor units
     @JsonProperty("amount")
-    private double amount;
+    @JsonDeserialize(using = MinorUnitsDeserializer.class)
+    private long amountMinor;
+
+    // ISO 4217 code; defaults to USD when omitted
+    @JsonProperty("currency")
+    private String currency;
 
     @JsonProperty("department")
     private String department;
@@ -19,18 +26,27 @@ public class WorkflowRequest {
     public WorkflowRequest() {
     }
 
-    public WorkflowRequest(double amount, String department, boolean requiresManagerApproval) {
-        this.amount = amount;
+    public WorkflowRequest(long amountMinor, String currency, String department, boolean requiresManagerApproval) {
+        this.amountMinor = amountMinor;
+        this.currency = currency;
         this.department = department;
         this.requiresManagerApproval = requiresManagerApproval;
     }
 
-    public double getAmount() {
-        return amount;
+    public long getAmountMinor() {
+        return amountMinor;
+    }
+
+    public void setAmountMinor(long amountMinor) {
+        this.amountMinor = amountMinor;
+    }
+
+    public String getCurrency() {
+        return currency;
     }
 
-    public void setAmount(double amount) {
-        this.amount = amount;
+    public void setCurrency(String currency) {
+        this.currency = currency;
     }
 
     public String getDepartment() {
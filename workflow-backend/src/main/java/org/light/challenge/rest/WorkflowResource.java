@@ -1,29 +1,68 @@
 package org.light.challenge.rest;
 
+import org.light.challenge.admission.AdmissionController;
+import org.light.challenge.admission.AdmissionException;
+import org.light.challenge.approval.ApprovalState;
+import org.light.challenge.approval.PendingApproval;
+import org.light.challenge.approval.PendingApprovalStore;
 import org.light.challenge.engine.WorkflowEngine;
+import org.light.challenge.escalation.EscalationScheduler;
+import org.light.challenge.execution.EvaluationExecutor;
 import org.light.challenge.model.ApprovalAction;
 import org.light.challenge.model.Invoice;
-import org.light.challenge.repository.WorkflowRepository;
+import org.light.challenge.model.Money;
+import org.light.challenge.model.WorkflowRule;
+import org.light.challenge.notification.NotificationDispatcher;
+import org.light.challenge.shadow.ShadowEvaluator;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.*;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 /**
  * REST resource for workflow execution.
- * Provides an endpoint to evaluate invoice approval workflows.
+ * Provides an endpoint to evaluate invoice approval workflows,
+ * and endpoints for approvers to act on the resulting approval requests.
  */
 @Path("/workflow")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 public class WorkflowResource {
-    
+    /**
+     * Header identifying the caller for per-client rate limiting, set by the
+     * gateway; requests without it are limited per remote address.
+     */
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
     private final WorkflowEngine engine;
+    private final PendingApprovalStore approvals;
+    private final EscalationScheduler escalations;
+    private final NotificationDispatcher notifications;
+    private final EvaluationExecutor evaluations;
+    private final AdmissionController admission;
+    private final ShadowEvaluator shadow;
 
-    public WorkflowResource() {
-        // Initialize repository and engine
-        WorkflowRepository repository = new WorkflowRepository();
-        this.engine = new WorkflowEngine(repository);
+    public WorkflowResource(WorkflowEngine engine, PendingApprovalStore approvals,
+                            EscalationScheduler escalations, NotificationDispatcher notifications,
+                            EvaluationExecutor evaluations, AdmissionController admission,
+                            ShadowEvaluator shadow) {
+        this.engine = engine;
+        this.approvals = approvals;
+        this.escalations = escalations;
+        this.notifications = notifications;
+        this.evaluations = evaluations;
+        this.admission = admission;
+        this.shadow = shadow;
     }
 
     /**
@@ -32,6 +71,7 @@ public class WorkflowResource {
      * POST /workflow
      * Body: {
      *   "amount": 15000.00,
+     *   "currency": "USD",
      *   "department": "marketing",
      *   "requiresManagerApproval": false
      * }
@@ -40,11 +80,123 @@ public class WorkflowResource {
      *   "success": true,
      *   "approverRole": "CMO",
      *   "channel": "EMAIL",
-     *   "message": "High value marketing invoice requires CMO approval"
+     *   "message": "High value marketing invoice requires CMO approval",
+     *   "approvalId": 42
      * }
+     *
+     * Returns 429 with Retry-After when the client is over its rate, and 503
+     * with Retry-After when the server is at its concurrency limit for the
+     * invoice's priority.
+     */
+    @POST
+    public Response executeWorkflow(WorkflowRequest request,
+                                    @HeaderParam(CLIENT_ID_HEADER) String clientId,
+                                    @Context HttpServletRequest http) {
+        AdmissionController.Permit permit;
+        try {
+            permit = admission.admit(clientId(clientId, http), amountOf(request));
+        } catch (AdmissionException e) {
+            return rejected(e);
+        }
+        try {
+            return process(request, sample -> shadow.submitWhenFinished(http, sample));
+        } finally {
+            permit.release();
+        }
+    }
+
+    /**
+     * Asynchronous variant of {@code POST /workflow} with the same request and
+     * response bodies. The Jetty thread is released immediately and the
+     * evaluation runs on the evaluation executor.
+     *
+     * POST /workflow/async
+     *
+     * Applies the same admission control as {@code POST /workflow}, and also
+     * returns 503 with Retry-After when the executor is saturated, or when the
+     * evaluation has not started within the configured timeout. An evaluation
+     * that has started always runs to completion and returns its result, so
+     * no approval is created for a request that was told it failed.
      */
     @POST
-    public Response executeWorkflow(WorkflowRequest request) {
+    @Path("/async")
+    public void executeWorkflowAsync(WorkflowRequest request,
+                                     @HeaderParam(CLIENT_ID_HEADER) String clientId,
+                                     @Context HttpServletRequest http,
+                                     @Suspended AsyncResponse response) {
+        AdmissionController.Permit permit;
+        try {
+            permit = admission.admit(clientId(clientId, http), amountOf(request));
+        } catch (AdmissionException e) {
+            response.resume(rejected(e));
+            return;
+        }
+        // Whichever of the evaluation and the timeout claims the request first answers it,
+        // so an approval is only created for a request that gets its result
+        AtomicBoolean claimed = new AtomicBoolean();
+        response.setTimeout(evaluations.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+        response.setTimeoutHandler(timedOut -> {
+            if (claimed.compareAndSet(false, true)) {
+                timedOut.resume(serviceUnavailable("Workflow evaluation timed out"));
+            } else {
+                // Already being evaluated; give it time to finish rather than report a failure
+                timedOut.setTimeout(evaluations.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+            }
+        });
+        try {
+            evaluations.execute(() -> {
+                try {
+                    // Skip requests that timed out while queued so no approval is created for them
+                    if (claimed.compareAndSet(false, true)) {
+                        AtomicReference<ShadowEvaluator.Sample> sampled = new AtomicReference<>();
+                        // resume writes the response, so the shadow sample is only handed off afterwards
+                        if (response.resume(process(request, sampled::set))) {
+                            shadow.submit(sampled.get());
+                        }
+                    }
+                } finally {
+                    permit.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permit.release();
+            if (claimed.compareAndSet(false, true)) {
+                response.resume(serviceUnavailable("Too many workflow evaluations in progress"));
+            }
+        }
+    }
+
+    private static String clientId(String header, HttpServletRequest http) {
+        if (header != null && !header.trim().isEmpty()) {
+            return header.trim();
+        }
+        return http == null ? "unknown" : http.getRemoteAddr();
+    }
+
+    private static long amountOf(WorkflowRequest request) {
+        // Invalid requests are admitted at low priority and rejected by validation
+        return request == null ? 0 : request.getAmountMinor();
+    }
+
+    private Response rejected(AdmissionException e) {
+        return Response.status(e.getStatus())
+                .header("Retry-After", e.getRetryAfterSeconds())
+                .entity(WorkflowResponse.error(e.getMessage()))
+                .build();
+    }
+
+    private Response serviceUnavailable(String message) {
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .header("Retry-After", 1)
+                .entity(WorkflowResponse.error(message))
+                .build();
+    }
+
+    /**
+     * @param sampled receives the shadow sample, if the invoice is sampled, to
+     *                hand off once the response has been written
+     */
+    private Response process(WorkflowRequest request, Consumer<ShadowEvaluator.Sample> sampled) {
         try {
             // Validate input
             if (request == null) {
@@ -53,7 +205,7 @@ public class WorkflowResource {
                         .build();
             }
 
-            if (request.getAmount() < 0) {
+            if (request.getAmountMinor() < 0) {
                 return Response.status(Response.Status.BAD_REQUEST)
                         .entity(WorkflowResponse.error("Amount must be non-negative"))
                         .build();
@@ -65,18 +217,40 @@ public class WorkflowResource {
                         .build();
             }
 
+            String currency;
+            try {
+                currency = Money.currencyCode(request.getCurrency());
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(WorkflowResponse.error(e.getMessage()))
+                        .build();
+            }
+
             // Create invoice from request
             Invoice invoice = new Invoice(
-                request.getAmount(),
+                request.getAmountMinor(),
+                currency,
                 request.getDepartment(),
                 request.isRequiresManagerApproval()
             );
 
             // Evaluate workflow
-            ApprovalAction action = engine.evaluateWorkflow(invoice);
+            WorkflowRule rule = engine.matchRule(invoice);
+            ApprovalAction action = rule.getAction();
 
-            // Execute the action (print to console)
-            action.execute();
+            // Sampled invoices are evaluated against the candidate rules after the response is sent
+            ShadowEvaluator.Sample sample = shadow.sample(invoice, rule);
+            if (sample != null) {
+                sampled.accept(sample);
+            }
+
+            // Track the approval until the approver decides
+            long approvalId = approvals.create(invoice, rule.getId(), action);
+            escalations.track(approvalId, rule);
+
+            // Notify the approver (coalesced into digests when configured)
+            notifications.dispatch(action.withMessage(
+                String.format("%s (approval %d)", action.getMessage(), approvalId)));
 
             // Build response
             WorkflowResponse response = new WorkflowResponse(
@@ -84,6 +258,7 @@ public class WorkflowResource {
                 action.getChannel().name(),
                 action.getMessage()
             );
+            response.setApprovalId(approvalId);
 
             return Response.ok(response).build();
 
@@ -99,6 +274,64 @@ public class WorkflowResource {
         }
     }
 
+    /**
+     * Returns the current state of an approval request.
+     *
+     * GET /workflow/approvals/{id}
+     */
+    @GET
+    @Path("/approvals/{id}")
+    public Response getApproval(@PathParam("id") long id) {
+        Optional<PendingApproval> approval = approvals.get(id);
+        if (!approval.isPresent()) {
+            return approvalNotFound(id);
+        }
+        return Response.ok(new ApprovalResponse(approval.get())).build();
+    }
+
+    /**
+     * Records the approver's approval of a pending request.
+     *
+     * POST /workflow/approvals/{id}/approve
+     */
+    @POST
+    @Path("/approvals/{id}/approve")
+    public Response approve(@PathParam("id") long id) {
+        return resolve(id, ApprovalState.APPROVED);
+    }
+
+    /**
+     * Records the approver's rejection of a pending request.
+     *
+     * POST /workflow/approvals/{id}/reject
+     */
+    @POST
+    @Path("/approvals/{id}/reject")
+    public Response reject(@PathParam("id") long id) {
+        return resolve(id, ApprovalState.REJECTED);
+    }
+
+    private Response resolve(long id, ApprovalState decision) {
+        try {
+            Optional<PendingApproval> approval = approvals.resolve(id, decision);
+            if (!approval.isPresent()) {
+                return approvalNotFound(id);
+            }
+            escalations.cancel(id);
+            return Response.ok(new ApprovalResponse(approval.get())).build();
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(ApprovalResponse.error(e.getMessage()))
+                    .build();
+        }
+    }
+
+    private Response approvalNotFound(long id) {
+        return Response.status(Response.Status.NOT_FOUND)
+                .entity(ApprovalResponse.error("No approval found with id " + id))
+                .build();
+    }
+
     /**
      * Health check endpoint.
      */
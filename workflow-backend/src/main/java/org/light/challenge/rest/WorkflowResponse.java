@@ -18,6 +18,9 @@ public class WorkflowResponse {
     @JsonProperty("message")
     private String message;
 
+    @JsonProperty("approvalId")
+    private Long approvalId;
+
     @JsonProperty("error")
     private String error;
 
@@ -73,6 +76,14 @@ public class WorkflowResponse {
         this.message = message;
     }
 
+    public Long getApprovalId() {
+        return approvalId;
+    }
+
+    public void setApprovalId(Long approvalId) {
+        this.approvalId = approvalId;
+    }
+
     public String getError() {
         return error;
     }
@@ -0,0 +1,249 @@
+package org.light.challenge.shadow;
+
+import io.dropwizard.lifecycle.Managed;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+import org.light.challenge.engine.WorkflowEngine;
+import org.light.challenge.model.Invoice;
+import org.light.challenge.model.WorkflowRule;
+import org.light.challenge.replay.ReplayStats;
+import org.light.challenge.repository.WorkflowRepository;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Evaluates a sample of live invoices against a candidate rule set and
+ * counts where its decision would differ from the live one.
+ *
+ * The request thread only decides whether to sample. The sample is handed off
+ * once the response has been written, to a small pool with a bounded queue:
+ * the asynchronous endpoint submits it after {@code AsyncResponse.resume}
+ * returns, and the synchronous one attaches it to the request, to be
+ * submitted when Jersey reports the request {@code FINISHED}. When the pool
+ * falls behind, samples are dropped and counted, so shadow work never adds
+ * latency or unbounded memory.
+ *
+ * Divergences are kept in a {@link ReplayStats}, keyed by rule and approver
+ * role transition like the offline what-if replay.
+ */
+public class ShadowEvaluator implements ApplicationEventListener, Managed {
+    static final String SAMPLE_ATTRIBUTE = ShadowEvaluator.class.getName() + ".sample";
+
+    private final WorkflowEngine candidate;
+    private final String candidateName;
+    private final double sampleRate;
+    private final int threads;
+    private final int queueCapacity;
+    private final int maxSamples;
+    private final ReplayStats stats;
+    private final LongAdder sampled = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private ThreadPoolExecutor pool;
+
+    /**
+     * @param candidate     the rule set to evaluate in the shadow of the live one
+     * @param candidateName where the candidate came from, for reports
+     * @param sampleRate    fraction of requests to sample, 0 to 1
+     * @param maxSamples    example invoices kept per rule transition
+     */
+    public ShadowEvaluator(WorkflowRepository candidate, String candidateName, double sampleRate,
+                           int threads, int queueCapacity, int maxSamples) {
+        this.candidate = candidate == null ? null : new WorkflowEngine(candidate, false);
+        this.candidateName = candidateName;
+        this.sampleRate = candidate == null ? 0 : sampleRate;
+        this.threads = threads;
+        this.queueCapacity = queueCapacity;
+        this.maxSamples = maxSamples;
+        this.stats = new ReplayStats(maxSamples);
+    }
+
+    /**
+     * Returns an evaluator that never samples.
+     */
+    public static ShadowEvaluator disabled() {
+        return new ShadowEvaluator(null, null, 0, 1, 1, 0);
+    }
+
+    public boolean isEnabled() {
+        return sampleRate > 0;
+    }
+
+    @Override
+    public void start() {
+        if (!isEnabled()) {
+            return;
+        }
+        AtomicInteger count = new AtomicInteger();
+        pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "shadow-" + count.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, executor) -> dropped.increment());
+        System.out.println(String.format("Shadow evaluation of %s on %.2f%% of requests",
+            candidateName, 100 * sampleRate));
+    }
+
+    @Override
+    public void stop() throws Exception {
+        if (pool != null) {
+            pool.shutdown();
+            pool.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Called on the request thread once the live decision is made; decides
+     * whether to sample the invoice. Nothing is evaluated here.
+     *
+     * @return the sample to hand off once the response is written, or null
+     */
+    public Sample sample(Invoice invoice, WorkflowRule live) {
+        if (!isEnabled() || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return null;
+        }
+        return new Sample(invoice, live);
+    }
+
+    /**
+     * Attaches a sample to a synchronous request, to be submitted when Jersey
+     * has finished writing its response.
+     */
+    public void submitWhenFinished(HttpServletRequest request, Sample sample) {
+        if (sample != null && request != null) {
+            request.setAttribute(SAMPLE_ATTRIBUTE, sample);
+        }
+    }
+
+    @Override
+    public void onEvent(ApplicationEvent event) {
+    }
+
+    @Override
+    public RequestEventListener onRequest(RequestEvent start) {
+        if (!isEnabled()) {
+            return null;
+        }
+        return event -> {
+            if (event.getType() != RequestEvent.Type.FINISHED) {
+                return;
+            }
+            // Jersey backs request properties with the servlet request's attributes
+            Object sample = event.getContainerRequest().getProperty(SAMPLE_ATTRIBUTE);
+            if (sample instanceof Sample) {
+                submit((Sample) sample);
+            }
+        };
+    }
+
+    /**
+     * Queues a sample's shadow evaluation; does nothing for a null sample.
+     */
+    public void submit(Sample sample) {
+        if (sample != null) {
+            submit(sample.invoice, sample.live);
+        }
+    }
+
+    /**
+     * Queues a shadow evaluation, or drops it if the queue is full.
+     */
+    public void submit(Invoice invoice, WorkflowRule live) {
+        sampled.increment();
+        ThreadPoolExecutor executor = pool;
+        if (executor == null) {
+            dropped.increment();
+            return;
+        }
+        executor.execute(() -> evaluate(invoice, live));
+    }
+
+    private void evaluate(Invoice invoice, WorkflowRule live) {
+        WorkflowRule shadow = candidate.findMatchingRule(invoice).orElse(null);
+        synchronized (stats) {
+            stats.record(invoice, live, shadow);
+        }
+    }
+
+    public long getSampled() {
+        return sampled.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getEvaluated() {
+        synchronized (stats) {
+            return stats.getTotal();
+        }
+    }
+
+    public long getDivergent() {
+        synchronized (stats) {
+            return stats.getDivergent();
+        }
+    }
+
+    public int getQueued() {
+        ThreadPoolExecutor executor = pool;
+        return executor == null ? 0 : executor.getQueue().size();
+    }
+
+    /**
+     * Returns the counts and divergences so far, for the admin servlet.
+     */
+    public Map<String, Object> snapshot() {
+        ReplayStats copy;
+        synchronized (stats) {
+            copy = new ReplayStats(maxSamples).merge(stats);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", isEnabled());
+        result.put("candidate", candidateName);
+        result.put("sampleRate", sampleRate);
+        result.put("sampled", getSampled());
+        result.put("dropped", getDropped());
+        result.put("queued", getQueued());
+        result.put("evaluated", copy.getTotal());
+        result.put("divergent", copy.getDivergent());
+        result.put("byRule", copy.getByRule());
+        result.put("byRole", copy.getByRole());
+
+        Map<String, List<String>> examples = new LinkedHashMap<>();
+        copy.getSamples().forEach((key, invoices) -> {
+            List<String> described = new ArrayList<>();
+            invoices.forEach(invoice -> described.add(invoice.toString()));
+            examples.put(key, described);
+        });
+        result.put("samples", examples);
+        return result;
+    }
+
+    /**
+     * An invoice and its live rule, waiting to be evaluated in the shadow.
+     */
+    public static final class Sample {
+        private final Invoice invoice;
+        private final WorkflowRule live;
+
+        Sample(Invoice invoice, WorkflowRule live) {
+            this.invoice = invoice;
+            this.live = live;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package org.light.challenge.shadow;
+
+import com.codahale.metrics.Gauge;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.setup.Environment;
+import org.light.challenge.repository.WorkflowRepository;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Configuration for shadow evaluation of a candidate rule set on live
+ * {@code POST /workflow} traffic.
+ */
+public class ShadowFactory {
+    @JsonProperty("enabled")
+    private boolean enabled = false;
+
+    @JsonProperty("candidateSnapshot")
+    private String candidateSnapshot;
+
+    @JsonProperty("sampleRate")
+    private double sampleRate = 0.01;
+
+    @JsonProperty("threads")
+    private int threads = 1;
+
+    @JsonProperty("queueCapacity")
+    private int queueCapacity = 1024;
+
+    @JsonProperty("maxSamples")
+    private int maxSamples = 3;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Snapshot of the candidate rules, as written by {@code ./gradlew ruleSnapshot}.
+     */
+    public String getCandidateSnapshot() {
+        return candidateSnapshot;
+    }
+
+    public void setCandidateSnapshot(String candidateSnapshot) {
+        this.candidateSnapshot = candidateSnapshot;
+    }
+
+    /**
+     * Fraction of requests evaluated in the shadow, from 0 to 1.
+     */
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Samples waiting beyond this are dropped.
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Example invoices kept per divergent rule transition.
+     */
+    public int getMaxSamples() {
+        return maxSamples;
+    }
+
+    public void setMaxSamples(int maxSamples) {
+        this.maxSamples = maxSamples;
+    }
+
+    /**
+     * Loads the candidate rules and registers the evaluator as a Jersey event
+     * listener, a managed object, {@code shadow.*} metrics and the
+     * {@code /shadow} admin servlet.
+     */
+    public ShadowEvaluator build(Environment environment) throws IOException {
+        if (!enabled) {
+            return ShadowEvaluator.disabled();
+        }
+        if (candidateSnapshot == null) {
+            throw new IllegalArgumentException("shadow.candidateSnapshot is required when shadow evaluation is enabled");
+        }
+        WorkflowRepository candidate = WorkflowRepository.fromSnapshot(Paths.get(candidateSnapshot));
+        ShadowEvaluator shadow = new ShadowEvaluator(candidate, candidateSnapshot, sampleRate,
+                threads, queueCapacity, maxSamples);
+        environment.lifecycle().manage(shadow);
+        environment.jersey().register(shadow);
+        environment.admin()
+                .addServlet("shadow", new ShadowServlet(shadow, environment.getObjectMapper()))
+                .addMapping("/shadow");
+
+        environment.metrics().register("shadow.sampled", (Gauge<Long>) shadow::getSampled);
+        environment.metrics().register("shadow.dropped", (Gauge<Long>) shadow::getDropped);
+        environment.metrics().register("shadow.evaluated", (Gauge<Long>) shadow::getEvaluated);
+        environment.metrics().register("shadow.divergent", (Gauge<Long>) shadow::getDivergent);
+        environment.metrics().register("shadow.queued", (Gauge<Integer>) shadow::getQueued);
+        return shadow;
+    }
+}
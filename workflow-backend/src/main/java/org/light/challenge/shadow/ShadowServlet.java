@@ -0,0 +1,31 @@
+package org.light.challenge.shadow;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Serves the {@link ShadowEvaluator}'s divergence report as JSON on the admin port.
+ *
+ * GET /shadow
+ */
+public class ShadowServlet extends HttpServlet {
+    private final transient ShadowEvaluator shadow;
+    private final transient ObjectMapper mapper;
+
+    public ShadowServlet(ShadowEvaluator shadow, ObjectMapper mapper) {
+        this.shadow = shadow;
+        this.mapper = mapper;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType("application/json");
+        response.setHeader("Cache-Control", "must-revalidate,no-cache,no-store");
+        mapper.writeValue(response.getOutputStream(), shadow.snapshot());
+    }
+}
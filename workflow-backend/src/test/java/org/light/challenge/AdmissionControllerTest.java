@@ -0,0 +1,137 @@
+package org.light.challenge;
+
+import org.junit.Test;
+import org.light.challenge.admission.AdmissionController;
+import org.light.challenge.admission.AdmissionException;
+import org.light.challenge.admission.AimdLimit;
+import org.light.challenge.admission.Priority;
+import org.light.challenge.model.Money;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for AdmissionController and AimdLimit.
+ */
+public class AdmissionControllerTest {
+    private static final long MS = 1_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(1_000 * MS);
+
+    private AdmissionController controller(double rate, int burst, AimdLimit limit) {
+        return new AdmissionController(rate, burst, 100, Money.ofMajor(1_000), Money.ofMajor(10_000),
+            limit, clock::get);
+    }
+
+    @Test
+    public void testClientOverItsRateGets429WithRetryAfter() throws Exception {
+        AdmissionController admission = controller(1, 2, new AimdLimit(100, 1, 100, 1_000 * MS, 0.5));
+        admission.admit("a", 0).release();
+        admission.admit("a", 0).release();
+        try {
+            admission.admit("a", 0);
+            fail("Expected the third request to be rate limited");
+        } catch (AdmissionException e) {
+            assertEquals(429, e.getStatus());
+            assertEquals(1, e.getRetryAfterSeconds());
+        }
+        // Other clients have their own buckets
+        admission.admit("b", 0).release();
+
+        clock.addAndGet(1_000 * MS);
+        admission.admit("a", 0).release();
+        assertEquals(1, admission.getRateLimited());
+    }
+
+    @Test
+    public void testFullClientTableIsSweptOncePerRefillPeriod() throws Exception {
+        // Two buckets at 1 request per second and burst 2: a bucket is full again after 2 s idle
+        AdmissionController admission = new AdmissionController(1, 2, 2, Money.ofMajor(1_000),
+            Money.ofMajor(10_000), new AimdLimit(100, 1, 100, 1_000 * MS, 0.5), clock::get);
+        admission.admit("a", 0).release();
+        admission.admit("b", 0).release();
+
+        // Table full and nothing idle: new clients share the overflow bucket after one sweep
+        admission.admit("c", 0).release();
+        admission.admit("d", 0).release();
+        try {
+            admission.admit("e", 0);
+            fail("Expected the shared overflow bucket to be empty");
+        } catch (AdmissionException e) {
+            assertEquals(429, e.getStatus());
+        }
+        assertEquals(1, admission.getSweeps());
+        assertEquals(2, admission.getTrackedClients());
+
+        // Once a and b have been idle for a refill period, the next new client sweeps them out
+        clock.addAndGet(2_000 * MS);
+        admission.admit("f", 0).release();
+        assertEquals(2, admission.getSweeps());
+        assertEquals(1, admission.getTrackedClients());
+    }
+
+    @Test
+    public void testLowValueInvoicesAreShedFirst() throws Exception {
+        AdmissionController admission = controller(1_000, 1_000, new AimdLimit(10, 1, 10, 1_000 * MS, 0.5));
+        List<AdmissionController.Permit> held = new ArrayList<>();
+        // Low priority may use half of the limit of 10
+        for (int i = 0; i < 5; i++) {
+            held.add(admission.admit("c", Money.ofMajor(100)));
+        }
+        assertShed(admission, Money.ofMajor(100));
+        // Normal priority up to 8, high priority up to the full limit
+        for (int i = 0; i < 3; i++) {
+            held.add(admission.admit("c", Money.ofMajor(5_000)));
+        }
+        assertShed(admission, Money.ofMajor(5_000));
+        held.add(admission.admit("c", Money.ofMajor(20_000)));
+        held.add(admission.admit("c", Money.ofMajor(20_000)));
+        assertShed(admission, Money.ofMajor(20_000));
+
+        assertEquals(10, admission.getInFlight());
+        assertEquals(1, admission.getShed(Priority.LOW));
+        assertEquals(1, admission.getShed(Priority.NORMAL));
+        assertEquals(1, admission.getShed(Priority.HIGH));
+        held.forEach(AdmissionController.Permit::release);
+        assertEquals(0, admission.getInFlight());
+        assertEquals(0, admission.getRateLimited());
+    }
+
+    @Test
+    public void testLimitBacksOffOnSlowRequestsAndRecovers() {
+        AimdLimit limit = new AimdLimit(20, 4, 40, 100 * MS, 0.5);
+
+        // Several slow requests started before the first decrease only halve the limit once
+        int a = limit.tryAcquire(1.0);
+        int b = limit.tryAcquire(1.0);
+        limit.release(0, 200 * MS, a);
+        limit.release(0, 210 * MS, b);
+        assertEquals(10, limit.getLimit());
+
+        // A request started after that decrease that is also slow halves it again
+        int c = limit.tryAcquire(1.0);
+        limit.release(300 * MS, 500 * MS, c);
+        assertEquals(5, limit.getLimit());
+
+        // Fast requests under load grow the limit additively
+        for (int i = 0; i < 100; i++) {
+            int inFlight = limit.tryAcquire(1.0);
+            limit.release(1_000 * MS, 1_010 * MS, Math.max(inFlight, limit.getLimit()));
+        }
+        assertTrue(limit.getLimit() > 10);
+        assertTrue(limit.getLimit() <= 40);
+    }
+
+    private static void assertShed(AdmissionController admission, long amountMinor) {
+        try {
+            admission.admit("c", amountMinor);
+            fail("Expected the request to be shed");
+        } catch (AdmissionException e) {
+            assertEquals(503, e.getStatus());
+            assertEquals(1, e.getRetryAfterSeconds());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package org.light.challenge;
+
+import org.junit.Test;
+import org.light.challenge.analytics.CountMinSketch;
+import org.light.challenge.analytics.HeavyHitters;
+import org.light.challenge.analytics.QuantileSketch;
+import org.light.challenge.analytics.SlidingWindowCounter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the fixed-memory analytics sketches.
+ */
+public class AnalyticsSketchTest {
+
+    @Test
+    public void testCountMinNeverUnderestimates() {
+        CountMinSketch sketch = new CountMinSketch(256, 4);
+        for (int i = 0; i < 1000; i++) {
+            sketch.add("dept-" + (i % 100), 1);
+        }
+        sketch.add("marketing", 500);
+
+        assertTrue(sketch.estimate("marketing") >= 500);
+        // 1000 other events spread over 256 counters per row
+        assertTrue(sketch.estimate("marketing") < 500 + 50);
+        assertTrue(sketch.estimate("dept-7") >= 10);
+    }
+
+    @Test
+    public void testHeavyHittersFindsTopDepartments() {
+        HeavyHitters hitters = new HeavyHitters(new CountMinSketch(1024, 5), 10);
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            hitters.add("tail-" + random.nextInt(5000));
+            if (i % 4 == 0) {
+                hitters.add("marketing");
+            }
+            if (i % 10 == 0) {
+                hitters.add("finance");
+            }
+        }
+
+        Map<String, Long> top = hitters.top(2);
+        List<String> names = new ArrayList<>(top.keySet());
+        assertEquals(List.of("marketing", "finance"), names);
+        assertTrue(top.get("marketing") >= 5000);
+    }
+
+    @Test
+    public void testShardedHeavyHittersUnderConcurrentUpdates() throws Exception {
+        HeavyHitters hitters = new HeavyHitters(new CountMinSketch(1024, 5), 4, 8);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int seed = t;
+            threads[t] = new Thread(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 10_000; i++) {
+                    hitters.add("tail-" + random.nextInt(5000));
+                    if (i % 5 == 0) {
+                        hitters.add("marketing");
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Map<String, Long> top = hitters.top(1);
+        assertEquals(List.of("marketing"), new ArrayList<>(top.keySet()));
+        assertTrue(top.get("marketing") >= 8000);
+    }
+
+    @Test
+    public void testQuantilesWithinRelativeAccuracy() {
+        QuantileSketch sketch = new QuantileSketch(0.01, 100_000_000_00L);
+        List<Long> values = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 50_000; i++) {
+            long value = 100 + (long) (Math.exp(random.nextDouble() * 12) * 100);
+            values.add(value);
+            sketch.add(value);
+        }
+        Collections.sort(values);
+
+        for (double q : new double[]{0.5, 0.9, 0.99}) {
+            long expected = values.get((int) Math.floor(q * (values.size() - 1)));
+            long actual = sketch.quantile(q);
+            assertEquals("q=" + q, expected, actual, expected * 0.011);
+        }
+    }
+
+    @Test
+    public void testMergedSketchMatchesSingleSketch() {
+        QuantileSketch all = new QuantileSketch(0.02, 1_000_000);
+        QuantileSketch left = new QuantileSketch(0.02, 1_000_000);
+        QuantileSketch right = new QuantileSketch(0.02, 1_000_000);
+        for (long v = 1; v <= 10_000; v++) {
+            all.add(v);
+            (v % 2 == 0 ? left : right).add(v);
+        }
+        left.merge(right);
+
+        assertEquals(all.getCount(), left.getCount());
+        assertEquals(all.quantile(0.5), left.quantile(0.5));
+        assertEquals(all.quantile(0.99), left.quantile(0.99));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeRejectsDifferentParameters() {
+        new QuantileSketch(0.01, 1000).merge(new QuantileSketch(0.02, 1000));
+    }
+
+    @Test
+    public void testSlidingWindowExpiresOldBuckets() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1000, 60);
+        counter.add(0);
+        counter.add(500);
+        counter.add(30_000);
+        assertEquals(3, counter.sum(30_000));
+        assertEquals(1, counter.sum(60_000));
+        assertEquals(0, counter.sum(90_000));
+
+        // A slot reused by a later lap starts from zero
+        counter.add(120_000);
+        assertEquals(1, counter.sum(120_000));
+    }
+}
@@ -0,0 +1,174 @@
+package org.light.challenge;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.light.challenge.approval.PendingApprovalStore;
+import org.light.challenge.condition.AmountCondition;
+import org.light.challenge.condition.ComparisonOperator;
+import org.light.challenge.engine.WorkflowEngine;
+import org.light.challenge.escalation.EscalationScheduler;
+import org.light.challenge.impact.ApprovalRerouter;
+import org.light.challenge.impact.RerouteReport;
+import org.light.challenge.model.ApprovalAction;
+import org.light.challenge.model.ApproverRole;
+import org.light.challenge.model.Invoice;
+import org.light.challenge.model.Money;
+import org.light.challenge.model.NotificationChannel;
+import org.light.challenge.model.WorkflowRule;
+import org.light.challenge.repository.WorkflowRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for re-routing pending approvals after rule changes, against the default rules.
+ */
+public class ApprovalRerouterTest {
+
+    private WorkflowRepository repository;
+    private PendingApprovalStore store;
+    private ApprovalRerouter rerouter;
+    private final List<ApprovalAction> sent = new ArrayList<>();
+    private final List<Runnable> queued = new ArrayList<>();
+
+    private long marketing;
+    private long engineering;
+    private long managed;
+
+    @Before
+    public void setUp() {
+        repository = new WorkflowRepository();
+        store = PendingApprovalStore.inMemory(64);
+        WorkflowEngine engine = new WorkflowEngine(repository);
+        EscalationScheduler escalations = new EscalationScheduler(store, repository, sent::add, 100, 64);
+        rerouter = new ApprovalRerouter(store, engine, escalations, sent::add, queued::add);
+
+        marketing = create(engine, new Invoice(15000, "marketing", false));
+        engineering = create(engine, new Invoice(15000, "engineering", false));
+        managed = create(engine, new Invoice(7000, "engineering", true));
+        create(engine, new Invoice(3000, "engineering", false));
+    }
+
+    private long create(WorkflowEngine engine, Invoice invoice) {
+        WorkflowRule rule = engine.findMatchingRule(invoice).get();
+        return store.create(invoice, rule.getId(), rule.getAction());
+    }
+
+    /**
+     * Runs the queued passes and returns the report of the last one.
+     */
+    private RerouteReport runQueued() {
+        List<Runnable> tasks = new ArrayList<>(queued);
+        queued.clear();
+        tasks.forEach(Runnable::run);
+        return rerouter.getRecentReports().get(0);
+    }
+
+    @Test
+    public void testActionChangeReroutesOnlyApprovalsStillOnThatRule() {
+        List<WorkflowRule> before = repository.getRulesByPriority();
+        WorkflowRule cfo = repository.getRuleById("rule-2").get();
+        repository.updateRule(new WorkflowRule(cfo.getId(), cfo.getPriority(), cfo.getConditions(),
+            new ApprovalAction(ApproverRole.FINANCE_MANAGER, NotificationChannel.EMAIL, "Finance manager review"),
+            cfo.getDescription()));
+
+        rerouter.submit("PUT rule-2", before, repository.getRulesByPriority());
+        RerouteReport report = runQueued();
+
+        // Both large invoices are in rule-2's region; the marketing one stays with rule-1
+        assertEquals(2, report.getExamined());
+        assertEquals(1, report.getRerouted());
+        assertEquals(ApproverRole.FINANCE_MANAGER, store.get(engineering).get().getApproverRole());
+        assertEquals(ApproverRole.CMO, store.get(marketing).get().getApproverRole());
+        assertEquals(1, sent.size());
+        assertTrue(sent.get(0).getMessage().contains("re-routed"));
+    }
+
+    @Test
+    public void testReorderOnlyExaminesTheOverlapOfSwappedRules() {
+        List<WorkflowRule> before = repository.getRulesByPriority();
+        repository.reorder(Arrays.asList("rule-2", "rule-1", "rule-3", "rule-4", "rule-5"));
+
+        rerouter.submit("reorder", before, repository.getRulesByPriority());
+        RerouteReport report = runQueued();
+
+        assertEquals(Arrays.asList("rule-1", "rule-2"), report.getChangedRules());
+        assertEquals(1, report.getExamined());
+        assertEquals(1, report.getRerouted());
+        assertEquals("rule-2", store.get(marketing).get().getRuleId());
+        assertEquals(ApproverRole.CFO, store.get(marketing).get().getApproverRole());
+    }
+
+    @Test
+    public void testApprovalsLeftWithoutAMatchingRuleKeepTheirRoute() {
+        List<WorkflowRule> before = repository.getRulesByPriority();
+        repository.deleteRule("rule-3");
+
+        rerouter.submit("DELETE rule-3", before, repository.getRulesByPriority());
+        RerouteReport report = runQueued();
+
+        assertEquals(1, report.getExamined());
+        assertEquals(1, report.getUnmatched());
+        assertEquals(0, report.getRerouted());
+        assertEquals(ApproverRole.FINANCE_MANAGER, store.get(managed).get().getApproverRole());
+        assertTrue(sent.isEmpty());
+        assertEquals(1, rerouter.getRecentReports().size());
+    }
+
+    @Test
+    public void testConditionEditThatKeepsTheRegionIsStillDetected() {
+        repository.addRule(new WorkflowRule("rule-6", 6,
+            Arrays.asList(new AmountCondition(ComparisonOperator.GREATER_THAN, Money.ofMajor(10000))),
+            new ApprovalAction(ApproverRole.FINANCE_MANAGER, NotificationChannel.EMAIL, "Large invoice fallback"),
+            "Fallback for large invoices"));
+        WorkflowRule cfo = repository.getRuleById("rule-2").get();
+        repository.updateRule(new WorkflowRule(cfo.getId(), cfo.getPriority(),
+            Arrays.asList(new AmountCondition(ComparisonOperator.GREATER_THAN, Money.ofMajor(10000)),
+                new AmountCondition(ComparisonOperator.NOT_EQUAL, Money.ofMajor(20000))),
+            cfo.getAction(), cfo.getDescription()));
+
+        // != 20000 to != 15000 leaves rule-2's region as it was, but moves the engineering invoice
+        List<WorkflowRule> before = repository.getRulesByPriority();
+        repository.updateRule(new WorkflowRule(cfo.getId(), cfo.getPriority(),
+            Arrays.asList(new AmountCondition(ComparisonOperator.GREATER_THAN, Money.ofMajor(10000)),
+                new AmountCondition(ComparisonOperator.NOT_EQUAL, Money.ofMajor(15000))),
+            cfo.getAction(), cfo.getDescription()));
+
+        rerouter.submit("PUT rule-2", before, repository.getRulesByPriority());
+        RerouteReport report = runQueued();
+
+        assertEquals(Arrays.asList("rule-2"), report.getChangedRules());
+        assertEquals(1, report.getRerouted());
+        assertEquals("rule-6", store.get(engineering).get().getRuleId());
+        assertEquals(ApproverRole.FINANCE_MANAGER, store.get(engineering).get().getApproverRole());
+        assertEquals("rule-1", store.get(marketing).get().getRuleId());
+    }
+
+    @Test
+    public void testPassesRunInTheBackgroundInSubmissionOrder() {
+        List<WorkflowRule> original = repository.getRulesByPriority();
+        repository.reorder(Arrays.asList("rule-2", "rule-1", "rule-3", "rule-4", "rule-5"));
+        List<WorkflowRule> swapped = repository.getRulesByPriority();
+        repository.deleteRule("rule-3");
+
+        long first = rerouter.submit("reorder", original, swapped);
+        long second = rerouter.submit("DELETE rule-3", swapped, repository.getRulesByPriority());
+
+        // Nothing is re-routed until the queued passes run
+        assertTrue(first < second);
+        assertEquals(2, queued.size());
+        assertTrue(rerouter.getRecentReports().isEmpty());
+        assertEquals("rule-1", store.get(marketing).get().getRuleId());
+
+        runQueued();
+
+        List<RerouteReport> reports = rerouter.getRecentReports();
+        assertEquals(second, reports.get(0).getSequence());
+        assertEquals("DELETE rule-3", reports.get(0).getChange());
+        assertEquals(first, reports.get(1).getSequence());
+        assertEquals("rule-2", store.get(marketing).get().getRuleId());
+    }
+}
@@ -0,0 +1,69 @@
+package org.light.challenge;
+
+import org.junit.Test;
+import org.light.challenge.model.ApprovalAction;
+import org.light.challenge.model.ApproverRole;
+import org.light.challenge.model.NotificationChannel;
+import org.light.challenge.notification.DigestCoalescer;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the DigestCoalescer.
+ */
+public class DigestCoalescerTest {
+
+    private final List<ApprovalAction> sent = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void testSizeCapSendsOneDigest() {
+        DigestCoalescer coalescer = new DigestCoalescer(sent::add, 60_000, 3, Collections.emptyMap());
+        for (int i = 0; i < 3; i++) {
+            coalescer.dispatch(new ApprovalAction(ApproverRole.CFO, NotificationChannel.SLACK, "invoice " + i));
+        }
+
+        assertEquals(1, sent.size());
+        assertEquals(ApproverRole.CFO, sent.get(0).getApproverRole());
+        assertTrue(sent.get(0).getMessage().startsWith("3 approval requests"));
+        coalescer.stop();
+    }
+
+    @Test
+    public void testBatchesAreKeptPerRoleAndChannel() {
+        DigestCoalescer coalescer = new DigestCoalescer(sent::add, 60_000, 10, Collections.emptyMap());
+        coalescer.dispatch(new ApprovalAction(ApproverRole.CFO, NotificationChannel.SLACK, "a"));
+        coalescer.dispatch(new ApprovalAction(ApproverRole.CFO, NotificationChannel.EMAIL, "b"));
+        coalescer.dispatch(new ApprovalAction(ApproverRole.CFO, NotificationChannel.SLACK, "c"));
+        assertTrue(sent.isEmpty());
+
+        coalescer.stop();
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    public void testWindowElapsesAndFlushes() throws Exception {
+        DigestCoalescer coalescer = new DigestCoalescer(sent::add, 50, 10, Collections.emptyMap());
+        coalescer.dispatch(new ApprovalAction(ApproverRole.FINANCE_TEAM, NotificationChannel.SLACK, "only one"));
+
+        for (int i = 0; i < 100 && sent.isEmpty(); i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(1, sent.size());
+        assertEquals("only one", sent.get(0).getMessage());
+        coalescer.stop();
+    }
+
+    @Test
+    public void testZeroLatencyCapBypassesCoalescing() {
+        DigestCoalescer coalescer = new DigestCoalescer(sent::add, 60_000, 10,
+                Collections.singletonMap(ApproverRole.CMO, 0L));
+        coalescer.dispatch(new ApprovalAction(ApproverRole.CMO, NotificationChannel.EMAIL, "urgent"));
+
+        assertEquals(1, sent.size());
+        coalescer.stop();
+    }
+}
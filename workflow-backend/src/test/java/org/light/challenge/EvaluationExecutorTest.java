@@ -0,0 +1,68 @@
+package org.light.challenge;
+
+import org.junit.Test;
+import org.light.challenge.execution.EvaluationExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for EvaluationExecutor.
+ */
+public class EvaluationExecutorTest {
+
+    @Test
+    public void testRejectsBeyondInFlightLimitAndRecovers() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            EvaluationExecutor executor = new EvaluationExecutor(pool, 2, 1000);
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch done = new CountDownLatch(3);
+            Runnable blocked = () -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                done.countDown();
+            };
+
+            executor.execute(blocked);
+            executor.execute(blocked);
+            assertEquals(2, executor.getInFlight());
+            try {
+                executor.execute(blocked);
+                fail("Expected the third evaluation to be rejected");
+            } catch (RejectedExecutionException expected) {
+                // Limit reached
+            }
+
+            release.countDown();
+            while (executor.getInFlight() > 0) {
+                Thread.sleep(1);
+            }
+            executor.execute(done::countDown);
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRejectionByUnderlyingExecutorReleasesPermit() {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        pool.shutdown();
+        EvaluationExecutor executor = new EvaluationExecutor(pool, 1, 1000);
+        try {
+            executor.execute(() -> { });
+            fail("Expected rejection from a shut-down executor");
+        } catch (RejectedExecutionException expected) {
+            assertEquals(0, executor.getInFlight());
+        }
+    }
+}
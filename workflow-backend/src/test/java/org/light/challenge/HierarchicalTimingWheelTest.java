@@ -0,0 +1,74 @@
+package org.light.challenge;
+
+import org.junit.Test;
+import org.light.challenge.escalation.HierarchicalTimingWheel;
+import org.light.challenge.escalation.TimerEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the HierarchicalTimingWheel.
+ */
+public class HierarchicalTimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    @Test
+    public void testEntryFiresOnFirstTickAtOrAfterExpiration() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(10, 8, START);
+        TimerEntry entry = new TimerEntry(1, START + 25);
+        assertTrue(wheel.add(entry));
+
+        assertTrue(wheel.advance(START + 29).isEmpty());
+        List<TimerEntry> fired = wheel.advance(START + 30);
+        assertEquals(1, fired.size());
+        assertSame(entry, fired.get(0));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testDueEntryIsNotAccepted() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(10, 8, START);
+        assertFalse(wheel.add(new TimerEntry(1, START - 5)));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testCancelledEntryNeverFires() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(10, 8, START);
+        TimerEntry entry = new TimerEntry(1, START + 5_000);
+        wheel.add(entry);
+
+        assertTrue(wheel.cancel(entry));
+        assertFalse(wheel.cancel(entry));
+        assertTrue(wheel.advance(START + 10_000).isEmpty());
+    }
+
+    @Test
+    public void testEntriesAcrossLevelsFireWithinOneTick() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(10, 8, START);
+        Random random = new Random(42);
+        List<TimerEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            // Spread expirations over several wheel levels (level 0 only spans 80ms)
+            TimerEntry entry = new TimerEntry(i, START + 10 + random.nextInt(200_000));
+            entries.add(entry);
+            assertTrue(wheel.add(entry));
+        }
+
+        int fired = 0;
+        for (long now = START; now <= START + 200_020; now += 1 + random.nextInt(50)) {
+            for (TimerEntry entry : wheel.advance(now)) {
+                assertTrue("fired early", now >= entry.getExpirationMs());
+                assertTrue("fired late", now - entry.getExpirationMs() < 10 + 50);
+                fired++;
+            }
+        }
+        assertEquals(entries.size(), fired);
+        assertEquals(0, wheel.size());
+    }
+}
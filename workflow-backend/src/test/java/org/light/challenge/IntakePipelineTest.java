@@ -0,0 +1,80 @@
+package org.light.challenge;
+
+import org.junit.Test;
+import org.light.challenge.engine.WorkflowEngine;
+import org.light.challenge.intake.IntakePipeline;
+import org.light.challenge.intake.IntakeSource;
+import org.light.challenge.intake.IntakeStats;
+import org.light.challenge.intake.WaitStrategy;
+import org.light.challenge.model.ApproverRole;
+import org.light.challenge.notification.NotificationDispatcher;
+import org.light.challenge.repository.WorkflowRepository;
+
+import java.io.StringWriter;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for IntakePipeline.
+ */
+public class IntakePipelineTest {
+    private static final String[] RECORDS = {
+        "{\"amount\": 15000, \"department\": \"marketing\", \"requiresManagerApproval\": false}",
+        "{\"amount\": 15000, \"department\": \"engineering\", \"requiresManagerApproval\": false}",
+        "{\"amount\": 7000, \"department\": \"operations\", \"requiresManagerApproval\": true}",
+        "{\"amount\": 2500, \"department\": \"hr\", \"requiresManagerApproval\": false}",
+        "not json"
+    };
+
+    @Test
+    public void testEveryRecordFlowsThroughAllStagesInOrder() throws Exception {
+        for (WaitStrategy waitStrategy : new WaitStrategy[]{WaitStrategy.YIELDING, WaitStrategy.named("blocking")}) {
+            Map<ApproverRole, Integer> dispatched = new EnumMap<>(ApproverRole.class);
+            NotificationDispatcher dispatcher = action -> dispatched.merge(action.getApproverRole(), 1, Integer::sum);
+            StringWriter audit = new StringWriter();
+            // A ring much smaller than the input makes the producer wrap and wait on the last stage
+            IntakePipeline pipeline = new IntakePipeline(
+                new WorkflowEngine(new WorkflowRepository(), false), dispatcher, audit, 16, waitStrategy);
+
+            IntakeStats stats = pipeline.run(source(5_000));
+
+            assertEquals(5_000, stats.getRecords());
+            assertEquals(4_000, stats.getRouted());
+            assertEquals(1_000, stats.getRejected());
+            assertEquals(0, stats.getUnmatched());
+            assertEquals(Integer.valueOf(1_000), dispatched.get(ApproverRole.CMO));
+            assertEquals(Integer.valueOf(1_000), dispatched.get(ApproverRole.CFO));
+            assertEquals(Integer.valueOf(1_000), dispatched.get(ApproverRole.FINANCE_MANAGER));
+            assertEquals(Integer.valueOf(1_000), dispatched.get(ApproverRole.FINANCE_TEAM));
+            assertEquals(5_000, pipeline.getCompleted());
+
+            String[] lines = audit.toString().split("\n");
+            assertEquals(5_000, lines.length);
+            assertTrue(lines[0].startsWith("0\trule-1\tmarketing\t15000.00 USD"));
+            assertTrue(lines[4].startsWith("4\tREJECTED\t"));
+            assertTrue(lines[4_999].startsWith("4999\tREJECTED\t"));
+            for (IntakeStats.StageStats stage : stats.getStages()) {
+                assertEquals(5_000, stage.getLatencyNanos().getCount());
+                assertTrue(stage.getBatches() > 0);
+            }
+            assertEquals(5_000, stats.getEndToEndNanos().getCount());
+        }
+    }
+
+    private static IntakeSource source(int count) {
+        return new IntakeSource() {
+            private int next;
+
+            @Override
+            public String nextLine() {
+                return next < count ? RECORDS[next++ % RECORDS.length] : null;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
@@ -0,0 +1,75 @@
+package org.light.challenge;
+
+import org.junit.Test;
+import org.light.challenge.condition.AmountCondition;
+import org.light.challenge.condition.ComparisonOperator;
+import org.light.challenge.engine.WorkflowEngine;
+import org.light.challenge.model.Invoice;
+import org.light.challenge.model.Money;
+import org.light.challenge.repository.WorkflowRepository;
+
+import java.math.BigDecimal;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for fixed-point amounts.
+ */
+public class MoneyTest {
+
+    @Test
+    public void testParsesDecimalTextExactly() {
+        assertEquals(1_000_001, Money.parseMinor("10000.01"));
+        assertEquals(1_999, Money.parseMinor("19.99"));
+        assertEquals(1_000_000, Money.parseMinor("1e4"));
+        assertEquals(0, Money.parseMinor("0.000"));
+        assertEquals("10000.01", Money.format(1_000_001));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFractionalMinorUnitsAreRejected() {
+        Money.parseMinor("10000.005");
+    }
+
+    @Test
+    public void testDoubleConstructorConvertsExactly() {
+        // 19.99 has no exact double; its shortest decimal form converts exactly
+        assertEquals(1_999, new Invoice(19.99, "hr", false).getAmountMinor());
+        assertEquals(new BigDecimal("19.99"), new Invoice(19.99, "hr", false).getAmount());
+    }
+
+    @Test
+    public void testEqualityIsExact() {
+        AmountCondition equal = new AmountCondition(ComparisonOperator.EQUAL, Money.parseMinor("100.00"));
+        assertTrue(equal.evaluate(new Invoice(10_000, "USD", "hr", false)));
+        assertFalse(equal.evaluate(new Invoice(10_001, "USD", "hr", false)));
+        assertEquals("Amount == 100.00", equal.getDescription());
+    }
+
+    @Test
+    public void testThresholdBoundaryIsExact() throws Exception {
+        WorkflowEngine engine = new WorkflowEngine(new WorkflowRepository());
+        // Exactly 10000.00 stays with the mid-range rules; one cent more needs the CFO
+        assertEquals("rule-4", engine.matchRule(
+            new Invoice(Money.parseMinor("10000.00"), "USD", "sales", false)).getId());
+        assertEquals("rule-2", engine.matchRule(
+            new Invoice(Money.parseMinor("10000.01"), "USD", "sales", false)).getId());
+    }
+
+    @Test
+    public void testCurrencyCodesAreNormalised() {
+        assertEquals("USD", Money.currencyCode(null));
+        assertEquals("USD", Money.currencyCode(" usd "));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCurrenciesWithOtherScalesAreRejected() {
+        // Yen has no minor unit; comparing it with USD thresholds would misroute it
+        Money.currencyCode("JPY");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownCurrencyIsRejected() {
+        Money.currencyCode("XYZ1");
+    }
+}
@@ -0,0 +1,101 @@
+package org.light.challenge;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.light.challenge.approval.ApprovalState;
+import org.light.challenge.approval.PendingApproval;
+import org.light.challenge.approval.PendingApprovalStore;
+import org.light.challenge.model.ApprovalAction;
+import org.light.challenge.model.ApproverRole;
+import org.light.challenge.model.Invoice;
+import org.light.challenge.model.NotificationChannel;
+
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the PendingApprovalStore.
+ */
+public class PendingApprovalStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static final ApprovalAction CFO_ACTION =
+        new ApprovalAction(ApproverRole.CFO, NotificationChannel.SLACK, "High value invoice requires CFO approval");
+
+    @Test
+    public void testCreateAndGet() {
+        PendingApprovalStore store = PendingApprovalStore.inMemory(16);
+        long id = store.create(new Invoice(15000, "engineering", false), "rule-2", CFO_ACTION);
+
+        PendingApproval approval = store.get(id).get();
+        assertEquals(1_500_000, approval.getAmountMinor());
+        assertEquals("USD", approval.getCurrency());
+        assertEquals("engineering", approval.getDepartment());
+        assertEquals("rule-2", approval.getRuleId());
+        assertEquals(ApproverRole.CFO, approval.getApproverRole());
+        assertEquals(NotificationChannel.SLACK, approval.getChannel());
+        assertEquals(ApprovalState.PENDING, approval.getState());
+        assertEquals(1, store.openCount());
+    }
+
+    @Test
+    public void testResolveClosesApproval() {
+        PendingApprovalStore store = PendingApprovalStore.inMemory(16);
+        long id = store.create(new Invoice(15000, "engineering", false), "rule-2", CFO_ACTION);
+
+        assertEquals(ApprovalState.APPROVED, store.resolve(id, ApprovalState.APPROVED).get().getState());
+        assertEquals(0, store.openCount());
+        assertFalse(store.resolve(id + 1, ApprovalState.REJECTED).isPresent());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCannotResolveTwice() {
+        PendingApprovalStore store = PendingApprovalStore.inMemory(16);
+        long id = store.create(new Invoice(15000, "engineering", false), "rule-2", CFO_ACTION);
+
+        store.resolve(id, ApprovalState.APPROVED);
+        store.resolve(id, ApprovalState.REJECTED);
+    }
+
+    @Test
+    public void testClosedSlotsAreRecycledWhenFull() {
+        PendingApprovalStore store = PendingApprovalStore.inMemory(2);
+        long first = store.create(new Invoice(100, "hr", false), "rule-5", CFO_ACTION);
+        long second = store.create(new Invoice(200, "hr", false), "rule-5", CFO_ACTION);
+        store.resolve(first, ApprovalState.REJECTED);
+
+        long third = store.create(new Invoice(300, "hr", false), "rule-5", CFO_ACTION);
+        assertFalse(store.get(first).isPresent());
+        assertTrue(store.get(second).isPresent());
+        assertEquals(30_000, store.get(third).get().getAmountMinor());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFullStoreRejectsNewApprovals() {
+        PendingApprovalStore store = PendingApprovalStore.inMemory(1);
+        store.create(new Invoice(100, "hr", false), "rule-5", CFO_ACTION);
+        store.create(new Invoice(200, "hr", false), "rule-5", CFO_ACTION);
+    }
+
+    @Test
+    public void testMappedStoreSurvivesReopen() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("approvals.dat");
+        long id;
+        try (PendingApprovalStore store = PendingApprovalStore.mapped(file, 64)) {
+            id = store.create(new Invoice(7000, "operations", true), "rule-3", CFO_ACTION);
+            store.create(new Invoice(3000, "hr", false), "rule-5", CFO_ACTION);
+        }
+
+        try (PendingApprovalStore store = PendingApprovalStore.mapped(file, 64)) {
+            PendingApproval approval = store.get(id).get();
+            assertEquals("operations", approval.getDepartment());
+            assertTrue(approval.isRequiresManagerApproval());
+            assertEquals(2, store.openCount());
+            assertTrue(store.create(new Invoice(1, "hr", false), "rule-5", CFO_ACTION) > id + 1);
+        }
+    }
+}
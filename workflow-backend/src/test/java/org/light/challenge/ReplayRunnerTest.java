@@ -0,0 +1,84 @@
+package org.light.challenge;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.light.challenge.model.WorkflowRule;
+import org.light.challenge.replay.JsonLinesReplaySource;
+import org.light.challenge.replay.ReplayRunner;
+import org.light.challenge.replay.ReplaySource;
+import org.light.challenge.replay.ReplayStats;
+import org.light.challenge.repository.WorkflowRepository;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for ReplayRunner.
+ */
+public class ReplayRunnerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testIdenticalRuleSetsNeverDiverge() throws Exception {
+        Path input = writeHistory(10_000);
+        WorkflowRepository rules = new WorkflowRepository();
+
+        ReplayStats stats = replay(rules, rules, input);
+        assertEquals(10_000, stats.getTotal());
+        assertEquals(0, stats.getDivergent());
+    }
+
+    @Test
+    public void testRemovedRuleIsReportedPerTransition() throws Exception {
+        Path input = writeHistory(10_000);
+        WorkflowRepository active = new WorkflowRepository();
+        // Candidate drops the CMO rule, so large marketing invoices fall through to the CFO rule (rule-2)
+        List<WorkflowRule> withoutCmo = active.getRulesByPriority().stream()
+            .filter(rule -> !rule.getId().equals("rule-1"))
+            .collect(Collectors.toList());
+        WorkflowRepository candidate = new WorkflowRepository(withoutCmo);
+
+        ReplayStats stats = replay(active, candidate, input);
+        assertEquals(10_000, stats.getTotal());
+        // Every 4th invoice is a large marketing invoice
+        assertEquals(2_500, stats.getDivergent());
+        assertEquals(Long.valueOf(2_500), stats.getByRule().get("rule-1 -> rule-2"));
+        assertEquals(Long.valueOf(2_500), stats.getByRole().get("CMO -> CFO"));
+        assertEquals(2, stats.getSamples().get("rule-1 -> rule-2").size());
+    }
+
+    private ReplayStats replay(WorkflowRepository active, WorkflowRepository candidate, Path input) throws Exception {
+        // Small chunks and a tight in-flight limit exercise the back-pressure path
+        ReplayRunner runner = new ReplayRunner(active, candidate, 4, 1_000, 2, 2);
+        try (ReplaySource source = new JsonLinesReplaySource(input)) {
+            ReplayStats stats = runner.run(source);
+            assertEquals(1, source.getSkipped());
+            return stats;
+        }
+    }
+
+    private Path writeHistory(int count) throws Exception {
+        List<String> lines = new ArrayList<>();
+        String[] records = {
+            "{\"amount\": 15000, \"department\": \"marketing\", \"requiresManagerApproval\": false}",
+            "{\"amount\": 15000, \"department\": \"engineering\", \"requiresManagerApproval\": false}",
+            "{\"amount\": 7000, \"department\": \"operations\", \"requiresManagerApproval\": true}",
+            "{\"amount\": 2500, \"department\": \"hr\", \"requiresManagerApproval\": false}"
+        };
+        for (int i = 0; i < count; i++) {
+            lines.add(records[i % records.length]);
+        }
+        lines.add("not json");
+        Path file = folder.getRoot().toPath().resolve("history.jsonl");
+        Files.write(file, lines);
+        return file;
+    }
+}
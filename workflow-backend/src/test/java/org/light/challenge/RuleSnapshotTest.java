@@ -0,0 +1,75 @@
+package org.light.challenge;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.light.challenge.condition.AmountCondition;
+import org.light.challenge.condition.ComparisonOperator;
+import org.light.challenge.engine.WorkflowEngine;
+import org.light.challenge.model.*;
+import org.light.challenge.repository.RuleSnapshot;
+import org.light.challenge.repository.WorkflowRepository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for RuleSnapshot.
+ */
+public class RuleSnapshotTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testRoundTripPreservesDecisions() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("rules.snapshot");
+        WorkflowRepository original = new WorkflowRepository();
+        RuleSnapshot.write(original.getAllRules(), file);
+
+        WorkflowRepository loaded = WorkflowRepository.fromSnapshot(file);
+        assertEquals(original.getAllRules().size(), loaded.getAllRules().size());
+
+        WorkflowEngine before = new WorkflowEngine(original);
+        WorkflowEngine after = new WorkflowEngine(loaded);
+        for (Invoice invoice : Arrays.asList(
+                new Invoice(15000, "marketing", false),
+                new Invoice(15000, "engineering", false),
+                new Invoice(7000, "operations", true),
+                new Invoice(7000, "operations", false),
+                new Invoice(5000, "hr", false))) {
+            assertEquals(before.matchRule(invoice).getId(), after.matchRule(invoice).getId());
+        }
+
+        WorkflowRule rule3 = loaded.getRuleById("rule-3").get();
+        assertEquals(ApproverRole.CFO, rule3.getEscalation().get().getEscalateTo().get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDuplicateIdsAreRejected() {
+        ApprovalAction action = new ApprovalAction(ApproverRole.CFO, NotificationChannel.SLACK, "msg");
+        List<WorkflowRule> rules = Arrays.asList(
+            new WorkflowRule("dup", 1, Collections.singletonList(
+                new AmountCondition(ComparisonOperator.GREATER_THAN, 10)), action, "first"),
+            new WorkflowRule("dup", 2, Collections.emptyList(), action, "second")
+        );
+        RuleSnapshot.validate(rules);
+    }
+
+    @Test(expected = IOException.class)
+    public void testCorruptSnapshotIsRejected() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("rules.snapshot");
+        RuleSnapshot.write(new WorkflowRepository().getAllRules(), file);
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x7f;
+        Files.write(file, bytes);
+        RuleSnapshot.read(file);
+    }
+}
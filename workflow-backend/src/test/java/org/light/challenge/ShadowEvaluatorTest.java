@@ -0,0 +1,71 @@
+package org.light.challenge;
+
+import org.junit.Test;
+import org.light.challenge.engine.WorkflowEngine;
+import org.light.challenge.model.Invoice;
+import org.light.challenge.repository.WorkflowRepository;
+import org.light.challenge.shadow.ShadowEvaluator;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for shadow evaluation against a candidate rule set.
+ */
+public class ShadowEvaluatorTest {
+
+    private final WorkflowEngine live = new WorkflowEngine(new WorkflowRepository(), false);
+
+    private void submit(ShadowEvaluator shadow, Invoice invoice) {
+        shadow.submit(invoice, live.findMatchingRule(invoice).get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRecordsDivergenceByRuleAndRole() throws Exception {
+        WorkflowRepository candidate = new WorkflowRepository();
+        candidate.reorder(Arrays.asList("rule-2", "rule-1", "rule-3", "rule-4", "rule-5"));
+        ShadowEvaluator shadow = new ShadowEvaluator(candidate, "candidate", 1.0, 1, 16, 2);
+        shadow.start();
+
+        submit(shadow, new Invoice(15000, "marketing", false));
+        submit(shadow, new Invoice(20000, "marketing", true));
+        submit(shadow, new Invoice(15000, "engineering", false));
+        submit(shadow, new Invoice(3000, "marketing", false));
+        shadow.stop();
+
+        assertEquals(4, shadow.getEvaluated());
+        assertEquals(2, shadow.getDivergent());
+        Map<String, Object> snapshot = shadow.snapshot();
+        assertEquals(2L, ((Map<String, Long>) snapshot.get("byRule")).get("rule-1 -> rule-2").longValue());
+        assertEquals(2L, ((Map<String, Long>) snapshot.get("byRole")).get("CMO -> CFO").longValue());
+    }
+
+    @Test
+    public void testDropsSamplesInsteadOfQueueingWithoutBound() throws Exception {
+        ShadowEvaluator shadow = new ShadowEvaluator(new WorkflowRepository(), "candidate", 1.0, 1, 1, 0);
+        submit(shadow, new Invoice(15000, "marketing", false));
+        assertEquals(1, shadow.getDropped());
+
+        shadow.start();
+        for (int i = 0; i < 10_000; i++) {
+            submit(shadow, new Invoice(i, "engineering", false));
+        }
+        shadow.stop();
+
+        assertEquals(10_001, shadow.getSampled());
+        assertEquals(shadow.getSampled(), shadow.getEvaluated() + shadow.getDropped());
+        assertEquals(0, shadow.getDivergent());
+    }
+
+    @Test
+    public void testDisabledNeverSamples() {
+        ShadowEvaluator shadow = ShadowEvaluator.disabled();
+        assertFalse(shadow.isEnabled());
+        assertNull(shadow.sample(new Invoice(15000, "marketing", false), null));
+        shadow.submit(null);
+        assertEquals(0, shadow.getSampled());
+    }
+}
@@ -0,0 +1,124 @@
+package org.light.challenge;
+
+import org.junit.Test;
+import org.light.challenge.condition.AmountCondition;
+import org.light.challenge.condition.ComparisonOperator;
+import org.light.challenge.engine.WorkflowEngine;
+import org.light.challenge.model.*;
+import org.light.challenge.repository.WorkflowRepository;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for WorkflowRepository rule management.
+ */
+public class WorkflowRepositoryTest {
+
+    private static final ApprovalAction LEGAL_ACTION =
+        new ApprovalAction(ApproverRole.FINANCE_MANAGER, NotificationChannel.EMAIL, "Legal review");
+
+    @Test
+    public void testUpdateMovesRuleAndBumpsVersions() throws Exception {
+        WorkflowRepository repository = new WorkflowRepository();
+        WorkflowEngine engine = new WorkflowEngine(repository, false);
+        Invoice marketing = new Invoice(15000, "marketing", false);
+        assertEquals("rule-1", engine.matchRule(marketing).getId());
+
+        long before = repository.getVersion();
+        long otherRuleVersion = repository.getRuleVersion("rule-2");
+        WorkflowRule rule1 = repository.getRuleById("rule-1").get();
+        repository.updateRule(rule1.withPriority(10));
+
+        assertTrue(repository.getVersion() > before);
+        assertEquals(repository.getVersion(), repository.getRuleVersion("rule-1"));
+        assertEquals(otherRuleVersion, repository.getRuleVersion("rule-2"));
+        assertEquals(Arrays.asList("rule-2", "rule-3", "rule-4", "rule-5", "rule-1"), ids(repository));
+        // The CFO rule now comes first for large marketing invoices
+        assertEquals("rule-2", engine.matchRule(marketing).getId());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPriorityCollisionIsRejected() {
+        WorkflowRepository repository = new WorkflowRepository();
+        repository.addRule(new WorkflowRule("rule-6", 3, Collections.emptyList(), LEGAL_ACTION, "clashes"));
+    }
+
+    @Test
+    public void testDeleteAndCreate() {
+        WorkflowRepository repository = new WorkflowRepository();
+        assertTrue(repository.deleteRule("rule-5").isPresent());
+        assertFalse(repository.deleteRule("rule-5").isPresent());
+        assertFalse(repository.getRuleById("rule-5").isPresent());
+        assertEquals(-1, repository.getRuleVersion("rule-5"));
+
+        repository.addRule(new WorkflowRule("rule-6", 5, Collections.singletonList(
+            new AmountCondition(ComparisonOperator.LESS_THAN_OR_EQUAL, Money.ofMajor(5000))), LEGAL_ACTION, "small"));
+        assertEquals(Arrays.asList("rule-1", "rule-2", "rule-3", "rule-4", "rule-6"), ids(repository));
+    }
+
+    @Test
+    public void testReorderRenumbersPriorities() {
+        WorkflowRepository repository = new WorkflowRepository();
+        long untouched = repository.getRuleVersion("rule-3");
+        repository.reorder(Arrays.asList("rule-2", "rule-1", "rule-3", "rule-4", "rule-5"));
+
+        assertEquals(Arrays.asList("rule-2", "rule-1", "rule-3", "rule-4", "rule-5"), ids(repository));
+        assertEquals(1, repository.getRuleById("rule-2").get().getPriority());
+        assertEquals(2, repository.getRuleById("rule-1").get().getPriority());
+        assertEquals(untouched, repository.getRuleVersion("rule-3"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReorderMustListEveryRule() {
+        new WorkflowRepository().reorder(Arrays.asList("rule-2", "rule-1"));
+    }
+
+    @Test
+    public void testConcurrentReadersNeverSeeAPartialReorder() throws Exception {
+        WorkflowRepository repository = new WorkflowRepository();
+        List<String> flipped = Arrays.asList("rule-2", "rule-1", "rule-3", "rule-4", "rule-5");
+        List<String> original = Arrays.asList("rule-1", "rule-2", "rule-3", "rule-4", "rule-5");
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicInteger broken = new AtomicInteger();
+        AtomicInteger scans = new AtomicInteger();
+
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                Set<String> seen = new HashSet<>();
+                int lastPriority = 0;
+                for (WorkflowRule rule : repository.rulesInPriorityOrder()) {
+                    if (!seen.add(rule.getId()) || rule.getPriority() <= lastPriority) {
+                        broken.incrementAndGet();
+                    }
+                    lastPriority = rule.getPriority();
+                }
+                if (seen.size() != 5) {
+                    broken.incrementAndGet();
+                }
+                scans.incrementAndGet();
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 20_000; i++) {
+            repository.reorder(i % 2 == 0 ? flipped : original);
+        }
+        done.set(true);
+        reader.join();
+
+        assertTrue(scans.get() > 0);
+        assertEquals(0, broken.get());
+    }
+
+    private static List<String> ids(WorkflowRepository repository) {
+        return repository.getRulesByPriority().stream().map(WorkflowRule::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,242 @@
+package org.light.challenge;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.light.challenge.admission.AdmissionController;
+import org.light.challenge.approval.PendingApprovalStore;
+import org.light.challenge.engine.WorkflowEngine;
+import org.light.challenge.escalation.EscalationScheduler;
+import org.light.challenge.execution.EvaluationExecutor;
+import org.light.challenge.model.ApprovalAction;
+import org.light.challenge.model.Money;
+import org.light.challenge.repository.WorkflowRepository;
+import org.light.challenge.rest.WorkflowRequest;
+import org.light.challenge.rest.WorkflowResource;
+import org.light.challenge.rest.WorkflowResponse;
+import org.light.challenge.shadow.ShadowEvaluator;
+
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.TimeoutHandler;
+import javax.ws.rs.core.Response;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@code POST /workflow/async}, driving the resource with a
+ * hand-cranked executor and a recording {@link AsyncResponse}.
+ */
+public class WorkflowResourceAsyncTest {
+
+    private final List<Runnable> queued = new ArrayList<>();
+    private final List<ApprovalAction> sent = new ArrayList<>();
+    private PendingApprovalStore store;
+    private WorkflowResource resource;
+
+    @Before
+    public void setUp() {
+        resource = resource(ShadowEvaluator.disabled());
+    }
+
+    private WorkflowResource resource(ShadowEvaluator shadow) {
+        WorkflowRepository repository = new WorkflowRepository();
+        store = PendingApprovalStore.inMemory(64);
+        EscalationScheduler escalations = new EscalationScheduler(store, repository, sent::add, 100, 64);
+        return new WorkflowResource(new WorkflowEngine(repository, false), store, escalations, sent::add,
+                new EvaluationExecutor(queued::add, 16, 1000), AdmissionController.disabled(), shadow);
+    }
+
+    private static WorkflowRequest invoice() {
+        return new WorkflowRequest(Money.ofMajor(15000), "USD", "engineering", false);
+    }
+
+    private void runQueued() {
+        List<Runnable> tasks = new ArrayList<>(queued);
+        queued.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    @Test
+    public void testEvaluationAnswersTheRequest() {
+        RecordingResponse response = new RecordingResponse();
+        resource.executeWorkflowAsync(invoice(), "client", null, response);
+        runQueued();
+
+        assertEquals(200, response.result.getStatus());
+        assertEquals("CFO", ((WorkflowResponse) response.result.getEntity()).getApproverRole());
+        assertEquals(1, store.openCount());
+        assertEquals(1, sent.size());
+    }
+
+    @Test
+    public void testTimeoutBeforeEvaluationStartsCreatesNoApproval() {
+        RecordingResponse response = new RecordingResponse();
+        resource.executeWorkflowAsync(invoice(), "client", null, response);
+        response.timeOut();
+        runQueued();
+
+        assertEquals(503, response.result.getStatus());
+        assertEquals(1, response.resumed);
+        assertEquals(0, store.openCount());
+        assertTrue(sent.isEmpty());
+    }
+
+    @Test
+    public void testTimeoutDuringEvaluationLetsItFinish() {
+        RecordingResponse response = new RecordingResponse();
+        resource.executeWorkflowAsync(invoice(), "client", null, response);
+        // The evaluation claims the request, then the timer fires before it resumes
+        response.timeOutOnResume = true;
+        runQueued();
+
+        assertEquals(200, response.result.getStatus());
+        assertEquals(1, response.resumed);
+        assertEquals(2, response.timeoutsSet);
+        assertEquals(1, store.openCount());
+    }
+
+    @Test
+    public void testShadowSampleIsHandedOffAfterTheResponseIsResumed() throws Exception {
+        WorkflowRepository candidate = new WorkflowRepository();
+        candidate.reorder(Arrays.asList("rule-2", "rule-1", "rule-3", "rule-4", "rule-5"));
+        ShadowEvaluator shadow = new ShadowEvaluator(candidate, "candidate", 1.0, 1, 16, 3);
+        shadow.start();
+        WorkflowResource sampled = resource(shadow);
+
+        long[] sampledAtResume = {-1};
+        RecordingResponse response = new RecordingResponse() {
+            @Override
+            public boolean resume(Object result) {
+                sampledAtResume[0] = shadow.getSampled();
+                return super.resume(result);
+            }
+        };
+        sampled.executeWorkflowAsync(new WorkflowRequest(Money.ofMajor(15000), "USD", "marketing", false),
+                "client", null, response);
+        runQueued();
+        shadow.stop();
+
+        assertEquals(200, response.result.getStatus());
+        assertEquals(0, sampledAtResume[0]);
+        assertEquals(1, shadow.getSampled());
+        assertEquals(1, shadow.getEvaluated());
+        assertEquals(1, shadow.getDivergent());
+    }
+
+    @Test
+    public void testTimedOutRequestIsNotSampled() throws Exception {
+        ShadowEvaluator shadow = new ShadowEvaluator(new WorkflowRepository(), "candidate", 1.0, 1, 16, 3);
+        shadow.start();
+        WorkflowResource sampled = resource(shadow);
+
+        RecordingResponse response = new RecordingResponse();
+        sampled.executeWorkflowAsync(invoice(), "client", null, response);
+        response.timeOut();
+        runQueued();
+        shadow.stop();
+
+        assertEquals(503, response.result.getStatus());
+        assertEquals(0, shadow.getSampled());
+    }
+
+    /**
+     * Records what the resource does with the suspended response.
+     */
+    static class RecordingResponse implements AsyncResponse {
+        Response result;
+        int resumed;
+        int timeoutsSet;
+        boolean timeOutOnResume;
+        private TimeoutHandler timeoutHandler;
+
+        void timeOut() {
+            timeoutHandler.handleTimeout(this);
+        }
+
+        @Override
+        public boolean resume(Object response) {
+            if (timeOutOnResume) {
+                timeOutOnResume = false;
+                timeOut();
+            }
+            if (result != null) {
+                return false;
+            }
+            resumed++;
+            result = (Response) response;
+            return true;
+        }
+
+        @Override
+        public boolean resume(Throwable response) {
+            throw new AssertionError(response);
+        }
+
+        @Override
+        public boolean cancel() {
+            return false;
+        }
+
+        @Override
+        public boolean cancel(int retryAfter) {
+            return false;
+        }
+
+        @Override
+        public boolean cancel(Date retryAfter) {
+            return false;
+        }
+
+        @Override
+        public boolean isSuspended() {
+            return result == null;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public boolean isDone() {
+            return result != null;
+        }
+
+        @Override
+        public boolean setTimeout(long time, TimeUnit unit) {
+            timeoutsSet++;
+            return true;
+        }
+
+        @Override
+        public void setTimeoutHandler(TimeoutHandler handler) {
+            this.timeoutHandler = handler;
+        }
+
+        @Override
+        public Collection<Class<?>> register(Class<?> callback) {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public Map<Class<?>, Collection<Class<?>>> register(Class<?> callback, Class<?>... callbacks) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Collection<Class<?>> register(Object callback) {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public Map<Class<?>, Collection<Class<?>>> register(Object callback, Object... callbacks) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -1,6 +1,62 @@
-import { useState } from 'react';
+import { useEffect, useState } from 'react';
 import Head from 'next/head';
-import { WorkflowRequest, WorkflowResult } from '../types/workflow';
+import { RuleCondition, RuleListResponse, WorkflowRequest, WorkflowResult, WorkflowRule } from '../types/workflow';
+
+// How often the rule list is re-fetched; unchanged rules come back as 304 Not Modified
+const RULES_POLL_MS = 30000;
+
+const RULE_STYLES = [
+  { card: 'bg-blue-50 border-blue-200', badge: 'bg-blue-600', role: 'bg-blue-100 text-blue-800' },
+  { card: 'bg-purple-50 border-purple-200', badge: 'bg-purple-600', role: 'bg-purple-100 text-purple-800' },
+  { card: 'bg-green-50 border-green-200', badge: 'bg-green-600', role: 'bg-green-100 text-green-800' },
+  { card: 'bg-yellow-50 border-yellow-200', badge: 'bg-yellow-600', role: 'bg-yellow-100 text-yellow-800' },
+  { card: 'bg-gray-50 border-gray-200', badge: 'bg-gray-600', role: 'bg-gray-100 text-gray-800' },
+];
+
+const OPERATOR_SYMBOLS: Record<string, string> = {
+  GREATER_THAN: '>',
+  GREATER_THAN_OR_EQUAL: '≥',
+  LESS_THAN: '<',
+  LESS_THAN_OR_EQUAL: '≤',
+  EQUAL: '=',
+  NOT_EQUAL: '≠',
+};
+
+function describeCondition(condition: RuleCondition): string {
+  switch (condition.type) {
+    case 'AMOUNT_COMPARISON':
+      return `Amount ${OPERATOR_SYMBOLS[condition.operator ?? ''] ?? condition.operator} $${Number(condition.amount).toLocaleString()}`;
+    case 'DEPARTMENT_EQUALS': {
+      const department = condition.department ?? '';
+      return `${department.charAt(0).toUpperCase()}${department.slice(1)} Department`;
+    }
+    case 'MANAGER_APPROVAL_REQUIRED':
+      return condition.required ? 'Requires Manager Approval' : 'NO Manager Approval';
+    default:
+      return 'Unknown condition';
+  }
+}
+
+function describeConditions(conditions: RuleCondition[]): string {
+  return conditions.length === 0 ? 'Any invoice' : conditions.map(describeCondition).join(' AND ');
+}
+
+function formatRole(role: string): string {
+  if (role === 'CMO' || role === 'CFO') {
+    return role;
+  }
+  return role.split('_').map(word => word.charAt(0) + word.slice(1).toLowerCase()).join(' ');
+}
+
+function formatChannel(channel: string): string {
+  if (channel === 'EMAIL') {
+    return '📧 EMAIL';
+  }
+  if (channel === 'SLACK') {
+    return '💬 SLACK';
+  }
+  return channel;
+}
 
 export default function Home() {
   const [amount, setAmount] = useState<string>('');
@@ -9,6 +65,28 @@ export default function Home() {
   const [loading, setLoading] = useState<boolean>(false);
   const [result, setResult] = useState<WorkflowResult | null>(null);
   const [error, setError] = useState<string | null>(null);
+  const [rules, setRules] = useState<WorkflowRule[]>([]);
+  const [rulesError, setRulesError] = useState<string | null>(null);
+
+  useEffect(() => {
+    const loadRules = async () => {
+      try {
+        // 'no-cache' revalidates with the stored ETag, so unchanged rules cost a 304
+        const response = await fetch('/api/rules', { cache: 'no-cache' });
+        const data: RuleListResponse = await response.json();
+        if (!response.ok || !data.rules) {
+          throw new Error(data.error || 'Failed to load workflow rules');
+        }
+        setRules(data.rules);
+        setRulesError(null);
+      } catch (err) {
+        setRulesError(err instanceof Error ? err.message : 'Failed to load workflow rules');
+      }
+    };
+    loadRules();
+    const timer = setInterval(loadRules, RULES_POLL_MS);
+    return () => clearInterval(timer);
+  }, []);
 
   const departments = [
     'marketing',
@@ -329,95 +407,30 @@ export default function Home() {
           <div className="mt-8 bg-white rounded-xl shadow-lg p-6">
             <h3 className="text-lg font-semibold text-gray-900 mb-4">Workflow Rules</h3>
             <div className="space-y-3">
-              {/* Rule 1 */}
-              <div className="flex items-start p-4 bg-blue-50 rounded-lg border border-blue-200">
-                <div className="flex-shrink-0 w-8 h-8 bg-blue-600 text-white rounded-full flex items-center justify-center font-bold text-sm mr-3">
-                  1
-                </div>
-                <div className="flex-1">
-                  <div className="flex items-center gap-2 mb-1">
-                    <span className="font-semibold text-gray-900">Amount &gt; $10,000 AND Marketing Department</span>
-                  </div>
-                  <div className="flex items-center gap-2 text-sm">
-                    <span className="text-gray-600">→</span>
-                    <span className="px-2 py-1 bg-blue-100 text-blue-800 rounded font-medium">CMO</span>
-                    <span className="text-gray-600">via</span>
-                    <span className="px-2 py-1 bg-gray-100 text-gray-800 rounded font-medium">📧 EMAIL</span>
-                  </div>
-                </div>
-              </div>
-
-              {/* Rule 2 */}
-              <div className="flex items-start p-4 bg-purple-50 rounded-lg border border-purple-200">
-                <div className="flex-shrink-0 w-8 h-8 bg-purple-600 text-white rounded-full flex items-center justify-center font-bold text-sm mr-3">
-                  2
-                </div>
-                <div className="flex-1">
-                  <div className="flex items-center gap-2 mb-1">
-                    <span className="font-semibold text-gray-900">Amount &gt; $10,000 AND NOT Marketing</span>
-                  </div>
-                  <div className="flex items-center gap-2 text-sm">
-                    <span className="text-gray-600">→</span>
-                    <span className="px-2 py-1 bg-purple-100 text-purple-800 rounded font-medium">CFO</span>
-                    <span className="text-gray-600">via</span>
-                    <span className="px-2 py-1 bg-gray-100 text-gray-800 rounded font-medium">💬 SLACK</span>
-                  </div>
-                </div>
-              </div>
-
-              {/* Rule 3 */}
-              <div className="flex items-start p-4 bg-green-50 rounded-lg border border-green-200">
-                <div className="flex-shrink-0 w-8 h-8 bg-green-600 text-white rounded-full flex items-center justify-center font-bold text-sm mr-3">
-                  3
-                </div>
-                <div className="flex-1">
-                  <div className="flex items-center gap-2 mb-1">
-                    <span className="font-semibold text-gray-900">$5,000 &lt; Amount ≤ $10,000 AND Requires Manager Approval</span>
-                  </div>
-                  <div className="flex items-center gap-2 text-sm">
-                    <span className="text-gray-600">→</span>
-                    <span className="px-2 py-1 bg-green-100 text-green-800 rounded font-medium">Finance Manager</span>
-                    <span className="text-gray-600">via</span>
-                    <span className="px-2 py-1 bg-gray-100 text-gray-800 rounded font-medium">📧 EMAIL</span>
-                  </div>
-                </div>
-              </div>
-
-              {/* Rule 4 */}
-              <div className="flex items-start p-4 bg-yellow-50 rounded-lg border border-yellow-200">
-                <div className="flex-shrink-0 w-8 h-8 bg-yellow-600 text-white rounded-full flex items-center justify-center font-bold text-sm mr-3">
-                  4
-                </div>
-                <div className="flex-1">
-                  <div className="flex items-center gap-2 mb-1">
-                    <span className="font-semibold text-gray-900">$5,000 &lt; Amount ≤ $10,000 AND NO Manager Approval</span>
-                  </div>
-                  <div className="flex items-center gap-2 text-sm">
-                    <span className="text-gray-600">→</span>
-                    <span className="px-2 py-1 bg-yellow-100 text-yellow-800 rounded font-medium">Finance Team</span>
-                    <span className="text-gray-600">via</span>
-                    <span className="px-2 py-1 bg-gray-100 text-gray-800 rounded font-medium">💬 SLACK</span>
-                  </div>
-                </div>
-              </div>
-
-              {/* Rule 5 */}
-              <div className="flex items-start p-4 bg-gray-50 rounded-lg border border-gray-200">
-                <div className="flex-shrink-0 w-8 h-8 bg-gray-600 text-white rounded-full flex items-center justify-center font-bold text-sm mr-3">
-                  5
-                </div>
-                <div className="flex-1">
-                  <div className="flex items-center gap-2 mb-1">
-                    <span className="font-semibold text-gray-900">Amount ≤ $5,000</span>
-                  </div>
-                  <div className="flex items-center gap-2 text-sm">
-                    <span className="text-gray-600">→</span>
-                    <span className="px-2 py-1 bg-gray-100 text-gray-800 rounded font-medium">Finance Team</span>
-                    <span className="text-gray-600">via</span>
-                    <span className="px-2 py-1 bg-gray-100 text-gray-800 rounded font-medium">💬 SLACK</span>
+              {rulesError && (
+                <p className="text-sm text-red-600">{rulesError}</p>
+              )}
+              {rules.map((rule, index) => {
+                const style = RULE_STYLES[index % RULE_STYLES.length];
+                return (
+                  <div key={rule.id} className={`flex items-start p-4 rounded-lg border ${style.card}`}>
+                    <div className={`flex-shrink-0 w-8 h-8 text-white rounded-full flex items-center justify-center font-bold text-sm mr-3 ${style.badge}`}>
+                      {rule.priority}
+                    </div>
+                    <div className="flex-1">
+                      <div className="flex items-center gap-2 mb-1">
+                        <span className="font-semibold text-gray-900">{describeConditions(rule.conditions)}</span>
+                      </div>
+                      <div className="flex items-center gap-2 text-sm">
+                        <span className="text-gray-600">→</span>
+                        <span className={`px-2 py-1 rounded font-medium ${style.role}`}>{formatRole(rule.approverRole)}</span>
+                        <span className="text-gray-600">via</span>
+                        <span className="px-2 py-1 bg-gray-100 text-gray-800 rounded font-medium">{formatChannel(rule.channel)}</span>
+                      </div>
+                    </div>
                   </div>
-                </div>
-              </div>
+                );
+              })}
             </div>
             <div className="mt-4 p-3 bg-indigo-50 rounded-lg border border-indigo-200">
               <p className="text-xs text-indigo-800">
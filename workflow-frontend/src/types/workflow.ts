@@ -17,3 +17,34 @@ export interface WorkflowResponse {
 export interface WorkflowResult extends WorkflowResponse {
   timestamp: string;
 }
+
+// Rule management API (GET /rules)
+
+export interface RuleCondition {
+  type: 'AMOUNT_COMPARISON' | 'DEPARTMENT_EQUALS' | 'MANAGER_APPROVAL_REQUIRED';
+  operator?: 'GREATER_THAN' | 'GREATER_THAN_OR_EQUAL' | 'LESS_THAN' | 'LESS_THAN_OR_EQUAL' | 'EQUAL' | 'NOT_EQUAL';
+  amount?: number;
+  department?: string;
+  required?: boolean;
+}
+
+export interface WorkflowRule {
+  id: string;
+  priority: number;
+  description?: string;
+  conditions: RuleCondition[];
+  approverRole: string;
+  channel: string;
+  message?: string;
+  escalateTo?: string;
+  escalateAfter?: string;
+  remindEvery?: string;
+  version: number;
+}
+
+export interface RuleListResponse {
+  success: boolean;
+  version?: number;
+  rules?: WorkflowRule[];
+  error?: string;
+}